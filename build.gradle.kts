@@ -20,6 +20,12 @@ dependencies {
   implementation("org.eclipse.keyple:keyple-util-java-lib:2.4.1")
   implementation("com.google.code.gson:gson:2.10.1")
   compileOnly("org.slf4j:slf4j-api:1.7.36")
+  testImplementation(platform("org.junit:junit-bom:5.10.2"))
+  testImplementation("org.junit.jupiter:junit-jupiter")
+  testImplementation("org.assertj:assertj-core:3.25.3")
+  testImplementation("org.mockito:mockito-core:4.11.0")
+  testImplementation("org.slf4j:slf4j-simple:1.7.36")
+  testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 ///////////////////////////////////////////////////////////////////////////////
@@ -13,14 +13,43 @@
 
 import static org.eclipse.keyple.core.service.resource.PluginsConfigurator.*;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
 import org.eclipse.keyple.core.service.*;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceAllocationStrategySpi;
 import org.eclipse.keyple.core.service.resource.spi.CardResourceProfileExtension;
 import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.selection.ScheduledCardSelectionsResponse;
 import org.eclipse.keypop.reader.selection.spi.SmartCard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +65,9 @@ final class CardProfileManagerAdapter {
 
   private static final Logger logger = LoggerFactory.getLogger(CardProfileManagerAdapter.class);
 
+  /** Re-check period used for asynchronous requests when no cycle duration is configured. */
+  private static final int DEFAULT_RECHECK_PERIOD_MILLIS = 100;
+
   /** The associated card profile. */
   private final CardResourceProfileConfigurator cardProfile;
 
@@ -45,21 +77,108 @@ final class CardProfileManagerAdapter {
   /** The unique instance of the card resource service. */
   private final CardResourceServiceAdapter service;
 
+  /* Allocation policy of the profile, defaulting to the global configuration */
+  private final AllocationStrategy allocationStrategy;
+  private final CardResourceAllocationStrategySpi allocationStrategySpi;
+  private final int usageTimeoutMillis;
+  private final boolean isBlockingAllocationMode;
+  private final int cycleDurationMillis;
+  private final int timeoutMillis;
+
+  /**
+   * True if the card resources already selected in their reader are preferred, which is only the
+   * case when no allocation strategy is configured, neither for the profile nor globally.
+   */
+  private final boolean isSelectionAffinityEnabled;
+
   /** The ordered list of "regular" plugins to use. */
   private final List<Plugin> plugins;
 
   /** The ordered list of "pool" plugins to use. */
   private final List<PoolPlugin> poolPlugins;
 
-  /** The current available card resources associated with "regular" plugins. */
-  private final List<CardResourceAdapter> cardResources;
+  /**
+   * The current available card resources associated with "regular" plugins, mapped to their rank
+   * (discovery order) in the profile.
+   */
+  private final Map<CardResourceAdapter, Long> cardResourceRanks;
+
+  /**
+   * The card resources not in use and whose reader is not known as busy, indexed by their rank.
+   *
+   * <p>A card resource leaves this set when it is allocated or when its reader is found busy, and
+   * is given back by the reader manager when the reader is unlocked.
+   */
+  private final ConcurrentSkipListMap<Long, CardResourceAdapter> idleCardResources;
+
+  /**
+   * The idle card resources which are the current selected one of their reader, indexed by their
+   * rank (selection affinity only).
+   *
+   * <p>This index is a hint updated when a card resource becomes idle and when the selection of its
+   * reader changes: its entries are checked against the idle set and the reader when polled.
+   */
+  private final ConcurrentSkipListMap<Long, CardResourceAdapter> selectedIdleCardResources;
+
+  /** The rank to assign to the next card resource added. */
+  private final AtomicLong nextCardResourceRank;
+
+  /**
+   * Immutable snapshot of the ranks of the current card resources in ascending order, replaced when
+   * a card resource is added or removed.
+   */
+  private volatile long[] cardResourceRankSnapshot;
+
+  /** The cursor over the rank snapshot (cyclic allocation strategy). */
+  private final AtomicInteger cyclicCursor;
 
   /** The filter on the reader name if set. */
   private final Pattern readerNameRegexPattern;
 
+  /** Monitor used by the blocked allocation requests to wait for a card resource availability. */
+  private final Object allocationMonitor = new Object();
+
+  /**
+   * Number of availability signals received, used to detect an availability occurring between a
+   * search and the wait (guarded by the allocation monitor).
+   */
+  private long availabilitySignalCount;
+
+  /** The FIFO queue of the allocation requests waiting for a card resource (fair mode only). */
+  private final Queue<AllocationWaiter> waiters;
+
+  /** Number of pending requests to dispatch the available card resources to the waiters. */
+  private final AtomicInteger dispatchRequestCount;
+
+  /** True while a periodic re-check of the availabilities is submitted and not yet started. */
+  private final AtomicBoolean isRecheckPending;
+
+  /** The allocation statistics. */
+  private final CardResourceProfileStatisticsAdapter statistics;
+
   /**
-   * Creates a new card profile manager using the provided card profile and initializes all
-   * available card resources.
+   * Completed when a first card resource is added or when the discovery of the card resources is
+   * completed.
+   */
+  private final CompletableFuture<Void> readiness;
+
+  /**
+   * The card resources associated with "pool" plugins kept pre-allocated, most recently added
+   * first (additions guarded by the deque itself, so that the reserve never exceeds its size).
+   */
+  private final Deque<ReservedPoolCardResource> warmReserve;
+
+  /** True while the warm reserve is being refilled. */
+  private final AtomicBoolean isWarmReserveRefilling;
+
+  /** True once the warm reserve is released, no card resource being kept anymore. */
+  private volatile boolean isWarmReserveReleased;
+
+  /**
+   * Creates a new card profile manager using the provided card profile.
+   *
+   * <p>The card resources are then discovered by the service and added using {@link
+   * #addCardResource(CardResourceAdapter)}.
    *
    * @param cardProfile The associated card profile.
    * @param globalConfiguration The global configuration of the service.
@@ -72,9 +191,50 @@ final class CardProfileManagerAdapter {
     this.cardProfile = cardProfile;
     this.globalConfiguration = globalConfiguration;
     service = CardResourceServiceAdapter.getInstance();
+
+    // Resolve the allocation policy of the profile.
+    if (cardProfile.getAllocationStrategy() != null
+        || cardProfile.getAllocationStrategySpi() != null) {
+      allocationStrategy =
+          cardProfile.getAllocationStrategy() != null
+              ? cardProfile.getAllocationStrategy()
+              : AllocationStrategy.FIRST;
+      allocationStrategySpi = cardProfile.getAllocationStrategySpi();
+      isSelectionAffinityEnabled = false;
+    } else {
+      allocationStrategy = globalConfiguration.getAllocationStrategy();
+      allocationStrategySpi = globalConfiguration.getAllocationStrategySpi();
+      isSelectionAffinityEnabled = globalConfiguration.isDefaultAllocationStrategy();
+    }
+    usageTimeoutMillis =
+        cardProfile.getUsageTimeoutMillis() != null
+            ? cardProfile.getUsageTimeoutMillis()
+            : globalConfiguration.getUsageTimeoutMillis();
+    if (cardProfile.isBlockingAllocationMode() != null) {
+      isBlockingAllocationMode = cardProfile.isBlockingAllocationMode();
+      cycleDurationMillis = cardProfile.getCycleDurationMillis();
+      timeoutMillis = cardProfile.getTimeoutMillis();
+    } else {
+      isBlockingAllocationMode = globalConfiguration.isBlockingAllocationMode();
+      cycleDurationMillis = globalConfiguration.getCycleDurationMillis();
+      timeoutMillis = globalConfiguration.getTimeoutMillis();
+    }
+
     plugins = new ArrayList<>(0);
     poolPlugins = new ArrayList<>(0);
-    cardResources = new ArrayList<>();
+    cardResourceRanks = new ConcurrentHashMap<>();
+    idleCardResources = new ConcurrentSkipListMap<>();
+    selectedIdleCardResources = new ConcurrentSkipListMap<>();
+    nextCardResourceRank = new AtomicLong();
+    cardResourceRankSnapshot = new long[0];
+    cyclicCursor = new AtomicInteger();
+    waiters = new ConcurrentLinkedQueue<>();
+    dispatchRequestCount = new AtomicInteger();
+    isRecheckPending = new AtomicBoolean();
+    statistics = new CardResourceProfileStatisticsAdapter();
+    readiness = new CompletableFuture<>();
+    warmReserve = new ConcurrentLinkedDeque<>();
+    isWarmReserveRefilling = new AtomicBoolean();
 
     // Prepare filter on reader name if requested.
     if (cardProfile.getReaderNameRegex() != null) {
@@ -83,83 +243,164 @@ final class CardProfileManagerAdapter {
       readerNameRegexPattern = null;
     }
 
-    // Initialize all available card resources.
+    // Resolve the plugins to use.
     if (cardProfile.getPlugins().isEmpty()) {
-      initializeCardResourcesUsingDefaultPlugins();
+      initializePluginsUsingDefaultPlugins();
     } else {
-      initializeCardResourcesUsingProfilePlugins();
+      initializePluginsUsingProfilePlugins();
     }
   }
 
-  /** Initializes card resources using the plugins configured on the card profile. */
-  private void initializeCardResourcesUsingProfilePlugins() {
+  /** Initializes the plugins to use with the plugins configured on the card profile. */
+  private void initializePluginsUsingProfilePlugins() {
     for (Plugin plugin : cardProfile.getPlugins()) {
       if (plugin instanceof PoolPlugin) {
         poolPlugins.add((PoolPlugin) plugin);
       } else {
         plugins.add(plugin);
-        initializeCardResources(plugin);
       }
     }
   }
 
-  /** Initializes card resources using the plugins configured on the card resource service. */
-  private void initializeCardResourcesUsingDefaultPlugins() {
+  /** Initializes the plugins to use with the plugins configured on the card resource service. */
+  private void initializePluginsUsingDefaultPlugins() {
     poolPlugins.addAll(globalConfiguration.getPoolPlugins());
-    for (Plugin plugin : globalConfiguration.getPlugins()) {
-      plugins.add(plugin);
-      initializeCardResources(plugin);
-    }
+    plugins.addAll(globalConfiguration.getPlugins());
   }
 
   /**
-   * Initializes all available card resources by analysing all readers of the provided "regular"
-   * plugin.
+   * Indicates if the provided card profile manager, created for a new configuration of the service,
+   * is configured the same way than this one, in which case this one can be kept with its card
+   * resources.
    *
-   * @param plugin The "regular" plugin to analyse.
+   * @param cardProfileManager The card profile manager to compare.
+   * @return True if they are configured the same way.
+   * @since 3.2.0
    */
-  private void initializeCardResources(Plugin plugin) {
-    for (CardReader reader : plugin.getReaders()) {
-      ReaderManagerAdapter readerManager = service.getReaderManager(reader);
-      initializeCardResource(readerManager);
-    }
+  boolean hasSameConfiguration(CardProfileManagerAdapter cardProfileManager) {
+    CardResourceProfileConfigurator otherCardProfile = cardProfileManager.cardProfile;
+    return cardProfile.getProfileName().equals(otherCardProfile.getProfileName())
+        && cardProfile.getCardResourceProfileExtension()
+            == otherCardProfile.getCardResourceProfileExtension()
+        && Objects.equals(cardProfile.getReaderNameRegex(), otherCardProfile.getReaderNameRegex())
+        && Objects.equals(
+            cardProfile.getReaderGroupReference(), otherCardProfile.getReaderGroupReference())
+        && plugins.equals(cardProfileManager.plugins)
+        && poolPlugins.equals(cardProfileManager.poolPlugins)
+        && allocationStrategy == cardProfileManager.allocationStrategy
+        && allocationStrategySpi == cardProfileManager.allocationStrategySpi
+        && usageTimeoutMillis == cardProfileManager.usageTimeoutMillis
+        && isBlockingAllocationMode == cardProfileManager.isBlockingAllocationMode
+        && cycleDurationMillis == cardProfileManager.cycleDurationMillis
+        && timeoutMillis == cardProfileManager.timeoutMillis
+        && globalConfiguration.isFairAllocationMode()
+            == cardProfileManager.globalConfiguration.isFairAllocationMode()
+        && globalConfiguration.isUsePoolFirst()
+            == cardProfileManager.globalConfiguration.isUsePoolFirst()
+        && globalConfiguration.isHedgedPoolAllocation()
+            == cardProfileManager.globalConfiguration.isHedgedPoolAllocation()
+        && globalConfiguration.getPoolAllocationHedgeDelayMillis()
+            == cardProfileManager.globalConfiguration.getPoolAllocationHedgeDelayMillis()
+        && globalConfiguration.getWarmReserveSize()
+            == cardProfileManager.globalConfiguration.getWarmReserveSize()
+        && globalConfiguration.getWarmReserveLingerTimeMillis()
+            == cardProfileManager.globalConfiguration.getWarmReserveLingerTimeMillis();
   }
 
   /**
-   * Tries to initialize a card resource for the provided reader manager only if the reader is
-   * accepted by the profile.
+   * Gets the current card resources of the profile.
    *
-   * <p>If the reader is accepted, then activates the provided reader manager if it is not already
-   * activated.
+   * @return A not null copy.
+   * @since 3.2.0
+   */
+  List<CardResourceAdapter> getCardResources() {
+    return new ArrayList<>(cardResourceRanks.keySet());
+  }
+
+  /**
+   * Gets the ordered list of "regular" plugins used by the profile.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  List<Plugin> getPlugins() {
+    return plugins;
+  }
+
+  /**
+   * Tries to initialize a card resource for the provided reader manager, activating it if it is not
+   * already activated.
    *
    * @param readerManager The reader manager to use.
+   * @param scheduledCardSelectionsResponse The response of the scheduled card selection, null if
+   *     none.
    */
-  private void initializeCardResource(ReaderManagerAdapter readerManager) {
+  private void initializeCardResource(
+      ReaderManagerAdapter readerManager,
+      ScheduledCardSelectionsResponse scheduledCardSelectionsResponse) {
 
-    if (isReaderAccepted(readerManager.getReader())) {
+    readerManager.activate();
 
-      readerManager.activate();
+    CardResourceAdapter cardResource =
+        readerManager.matches(
+            cardProfile.getCardResourceProfileExtension(), scheduledCardSelectionsResponse);
 
-      CardResourceAdapter cardResource =
-          readerManager.matches(cardProfile.getCardResourceProfileExtension());
+    if (cardResource != null) {
+      addCardResource(cardResource);
+    }
+  }
 
-      // The returned card resource may already be present in the current list if the service starts
-      // with an observable reader in which a card has been inserted.
-      if (cardResource != null) {
-        if (!cardResources.contains(cardResource)) {
-          cardResources.add(cardResource);
-          logger.info(
-              "New card resource added [profile={}, cardResource={}]",
-              cardProfile.getProfileName(),
-              CardResourceServiceAdapter.getCardResourceInfo(cardResource));
-        } else {
-          logger.info(
-              "Card resource already present [profile={}, cardResource={}]",
-              cardProfile.getProfileName(),
-              CardResourceServiceAdapter.getCardResourceInfo(cardResource));
-        }
+  /**
+   * Adds the provided card resource matching the profile, unless it is already present, and
+   * signals its availability.
+   *
+   * @param cardResource The card resource to add.
+   * @since 3.2.0
+   */
+  void addCardResource(CardResourceAdapter cardResource) {
+    // The card resource may already be present in the current list if the service starts with an
+    // observable reader in which a card has been inserted.
+    if (!cardResourceRanks.containsKey(cardResource)) {
+      service.getRegistry().addCardProfileManager(cardResource, this);
+      Long rank = nextCardResourceRank.getAndIncrement();
+      cardResourceRanks.put(cardResource, rank);
+      updateCardResourceRankSnapshot();
+      putIdleCardResource(rank, cardResource);
+      logger.info(
+          "New card resource added [profile={}, cardResource={}]",
+          cardProfile.getProfileName(),
+          CardResourceServiceAdapter.getCardResourceInfo(cardResource));
+      readiness.complete(null);
+      signalCardResourceAvailable();
+    } else {
+      logger.info(
+          "Card resource already present [profile={}, cardResource={}]",
+          cardProfile.getProfileName(),
+          CardResourceServiceAdapter.getCardResourceInfo(cardResource));
+    }
+  }
+
+  /**
+   * Indicates if the provided reader is handled by the profile, that is if its plugin is
+   * referenced by the profile (or if the profile references no plugin) and if its name is accepted.
+   *
+   * @param readerManager The reader manager of the reader.
+   * @return True if the reader is handled by the profile.
+   * @since 3.2.0
+   */
+  boolean isReaderHandled(ReaderManagerAdapter readerManager) {
+    if (!isReaderAccepted(readerManager.getReader())) {
+      return false;
+    }
+    if (cardProfile.getPlugins().isEmpty()) {
+      return true;
+    }
+    for (Plugin profilePlugin : cardProfile.getPlugins()) {
+      if (profilePlugin == readerManager.getPlugin()) {
+        return true;
       }
     }
+    return false;
   }
 
   /**
@@ -180,91 +421,693 @@ private boolean isReaderAccepted(CardReader reader) {
    * @since 2.0.0
    */
   void removeCardResource(CardResource cardResource) {
-    cardResources.remove(cardResource);
+    Long rank = cardResourceRanks.remove(cardResource);
+    if (rank != null) {
+      idleCardResources.remove(rank);
+      selectedIdleCardResources.remove(rank);
+      updateCardResourceRankSnapshot();
+      service.getRegistry().removeCardProfileManager(cardResource, this);
+    }
   }
 
   /**
-   * Invoked when a new reader is connected.<br>
-   * If the associated plugin is referenced on the card profile, then tries to initialize a card
-   * resource if the reader is accepted.
+   * Replaces the rank snapshot by a new one built from the current card resources.
    *
-   * @param readerManager The reader manager to use.
-   * @since 2.0.0
+   * <p>This operation is only performed when a card resource is added or removed.
    */
-  void onReaderConnected(ReaderManagerAdapter readerManager) {
-    if (cardProfile.getPlugins().isEmpty()) {
-      initializeCardResource(readerManager);
-    } else {
-      for (Plugin profilePlugin : cardProfile.getPlugins()) {
-        if (profilePlugin == readerManager.getPlugin()) {
-          initializeCardResource(readerManager);
-          break;
-        }
+  private void updateCardResourceRankSnapshot() {
+    synchronized (cardResourceRanks) {
+      List<Long> rankList = new ArrayList<>(cardResourceRanks.values());
+      long[] ranks = new long[rankList.size()];
+      for (int i = 0; i < ranks.length; i++) {
+        ranks[i] = rankList.get(i);
       }
+      Arrays.sort(ranks);
+      cardResourceRankSnapshot = ranks;
+    }
+  }
+
+  /**
+   * Gives back a card resource which is no longer in use or whose reader is no longer busy, in
+   * order to make it available for a next allocation.
+   *
+   * <p>The card resource is ignored if it has been removed from the profile in the meantime.
+   *
+   * @param cardResource The card resource.
+   * @since 3.2.0
+   */
+  void addIdleCardResource(CardResourceAdapter cardResource) {
+    Long rank = cardResourceRanks.get(cardResource);
+    if (rank != null) {
+      putIdleCardResource(rank, cardResource);
+    }
+  }
+
+  /**
+   * Puts the provided card resource in the idle set, and in the index of the selected idle card
+   * resources if it is the current selected one of its reader.
+   *
+   * @param rank The rank of the card resource.
+   * @param cardResource The card resource.
+   */
+  private void putIdleCardResource(Long rank, CardResourceAdapter cardResource) {
+    idleCardResources.put(rank, cardResource);
+    if (isSelectionAffinityEnabled && isSelectedInReader(cardResource)) {
+      selectedIdleCardResources.put(rank, cardResource);
+    }
+  }
+
+  /**
+   * Updates the index of the selected idle card resources when the provided card resource becomes
+   * or is no longer the current selected one of its reader.
+   *
+   * @param cardResource The card resource.
+   * @param isSelected True if the card resource is now the current selected one of its reader.
+   * @since 3.2.0
+   */
+  void onCardResourceSelectionChanged(CardResource cardResource, boolean isSelected) {
+    if (!isSelectionAffinityEnabled) {
+      return;
+    }
+    Long rank = cardResourceRanks.get(cardResource);
+    if (rank == null) {
+      return;
     }
+    if (!isSelected) {
+      selectedIdleCardResources.remove(rank);
+      return;
+    }
+    CardResourceAdapter idleCardResource = idleCardResources.get(rank);
+    if (idleCardResource != null) {
+      selectedIdleCardResources.put(rank, idleCardResource);
+    }
+  }
+
+  /**
+   * Gets the name of the card resource profile.
+   *
+   * @return A not empty string.
+   * @since 3.2.0
+   */
+  String getProfileName() {
+    return cardProfile.getProfileName();
   }
 
   /**
-   * Invoked when a new card is inserted.<br>
-   * The behaviour is the same as if a reader was connected.
+   * Gets the card resource profile extension.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  CardResourceProfileExtension getCardResourceProfileExtension() {
+    return cardProfile.getCardResourceProfileExtension();
+  }
+
+  /**
+   * Gets the usage timeout of the card resources allocated for the profile.
+   *
+   * @return 0 if no timeout is set.
+   * @since 3.2.0
+   */
+  int getUsageTimeoutMillis() {
+    return usageTimeoutMillis;
+  }
+
+  /**
+   * Invoked when a new card is inserted in a reader handled by the profile and the response of the
+   * scheduled card selection is available and supported by the card resource profile extension.<br>
+   * Tries to initialize a card resource passing the response of the scheduled card selection to the
+   * card resource profile extension.
    *
    * @param readerManager The reader manager to use.
+   * @param scheduledCardSelectionsResponse The response of the scheduled card selection carried by
+   *     the reader event.
    * @since 2.0.0
    */
-  void onCardInserted(ReaderManagerAdapter readerManager) {
-    onReaderConnected(readerManager);
+  void onCardInserted(
+      ReaderManagerAdapter readerManager,
+      ScheduledCardSelectionsResponse scheduledCardSelectionsResponse) {
+    initializeCardResource(readerManager, scheduledCardSelectionsResponse);
+  }
+
+  /**
+   * Gets the allocation statistics of the profile.
+   *
+   * @return A not null live view.
+   * @since 3.2.0
+   */
+  CardResourceProfileStatisticsAdapter getStatistics() {
+    return statistics;
   }
 
   /**
    * Tries to get a card resource and locks the associated reader.<br>
-   * Applies the configured allocation strategy by looping, pausing, ordering resources.
+   * Applies the configured allocation strategy by looping, waiting, ordering resources.
    *
-   * @return Null if there is no card resource available.
+   * <p>In blocking allocation mode, the calling thread waits until a card resource is signaled as
+   * available (release, reclamation after a usage timeout, card insertion, reader connection) or
+   * the timeout is reached. The cycle duration is only used as a fallback re-check period when
+   * some availabilities can not be signaled (pool plugins).
+   *
+   * @return The lease of the card resource, null if there is no card resource available.
    * @since 2.0.0
    */
-  CardResource getCardResource() {
-    CardResource cardResource;
-    long maxTime = System.currentTimeMillis() + globalConfiguration.getTimeoutMillis();
+  CardResourceLeaseAdapter getCardResource() {
+    if (!isBlockingAllocationMode) {
+      return allocateCardResource();
+    }
+    long maxTime = System.currentTimeMillis() + timeoutMillis;
+    if (globalConfiguration.isFairAllocationMode()) {
+      return getCardResourceInArrivalOrder(maxTime);
+    }
+    long waitStartNanos = 0;
+    boolean isInterrupted = false;
+    CardResourceLeaseAdapter cardResource;
     do {
-      if (plugins.isEmpty()) {
-        cardResource = getPoolCardResource();
-      } else {
-        if (poolPlugins.isEmpty()) {
-          cardResource = getRegularCardResource();
-        } else {
-          cardResource = getRegularOrPoolCardResource();
+      long signalCount = getAvailabilitySignalCount();
+      cardResource = allocateCardResource();
+      if (cardResource == null) {
+        if (waitStartNanos == 0) {
+          waitStartNanos = System.nanoTime();
+          statistics.onWaitStarted();
         }
+        isInterrupted = !awaitCardResourceAvailability(signalCount, maxTime);
       }
-      pauseIfNeeded(cardResource);
     } while (cardResource == null
-        && globalConfiguration.isBlockingAllocationMode()
+        && !isInterrupted
+        && isServiceAllocating()
         && System.currentTimeMillis() <= maxTime);
+    if (waitStartNanos != 0) {
+      statistics.onWaitEnded(System.nanoTime() - waitStartNanos, cardResource != null);
+    }
+    return cardResource;
+  }
+
+  /**
+   * Tries to get a card resource and locks the associated reader, waiting at most the provided
+   * timeout whatever the allocation mode of the profile.
+   *
+   * <p>The request is served like an asynchronous request, so that the calling thread is only
+   * blocked on the returned future and stops waiting as soon as it is interrupted or the provided
+   * cancellation handle is cancelled.
+   *
+   * @param timeoutMillis The maximum amount of time (in milliseconds) to wait, 0 for a single
+   *     attempt.
+   * @param cancellation The cancellation handle, null if none.
+   * @return The lease of the card resource, null if there is no card resource available before the
+   *     timeout or if the request has been cancelled.
+   * @throws InterruptedException If the calling thread is interrupted while waiting.
+   * @throws IllegalStateException If the service is stopped while waiting or if the allocation
+   *     failed.
+   * @since 3.2.0
+   */
+  CardResourceLeaseAdapter getCardResource(
+      long timeoutMillis, CardResourceAllocationCancellation cancellation)
+      throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    if (cancellation != null && cancellation.isCancelled()) {
+      return null;
+    }
+    if (timeoutMillis <= 0) {
+      return !globalConfiguration.isFairAllocationMode() || waiters.isEmpty()
+          ? allocateCardResource()
+          : null;
+    }
+    CompletableFuture<CardResource> future = getCardResourceAsync(timeoutMillis);
+    Runnable canceller = () -> future.cancel(false);
+    if (cancellation != null) {
+      cancellation.addListener(canceller);
+    }
+    try {
+      return (CardResourceLeaseAdapter) future.get();
+    } catch (CancellationException e) {
+      return null;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IllegalStateException) {
+        throw (IllegalStateException) e.getCause();
+      }
+      throw new IllegalStateException("Card resource allocation failed", e.getCause());
+    } catch (InterruptedException e) {
+      if (!future.cancel(false) && !future.isCompletedExceptionally()) {
+        // The card resource has been handed over in the meantime.
+        CardResourceLeaseAdapter cardResource = (CardResourceLeaseAdapter) future.getNow(null);
+        if (cardResource != null) {
+          cardResource.close();
+        }
+      }
+      throw e;
+    } finally {
+      if (cancellation != null) {
+        cancellation.removeListener(canceller);
+      }
+    }
+  }
+
+  /**
+   * Gets a card resource in fair mode: the request can not take a card resource as long as older
+   * requests are waiting, and waits for a card resource to be handed over to it otherwise.
+   *
+   * @param maxTime The time (in milliseconds) after which the allocation process ends.
+   * @return Null if there is no card resource available.
+   */
+  private CardResourceLeaseAdapter getCardResourceInArrivalOrder(long maxTime) {
+    if (waiters.isEmpty()) {
+      CardResourceLeaseAdapter cardResource = allocateCardResource();
+      if (cardResource != null) {
+        return cardResource;
+      }
+    }
+    AllocationWaiter waiter = new AllocationWaiter();
+    waiters.add(waiter);
+    statistics.onWaitStarted();
+    // A card resource may have been released in the meantime.
+    dispatchCardResources();
+    CardResourceLeaseAdapter cardResource = awaitHandOver(waiter, maxTime);
+    statistics.onWaitEnded(System.nanoTime() - waiter.creationNanos, cardResource != null);
     return cardResource;
   }
 
   /**
-   * Make a pause if the provided card resource is null and a blocking allocation mode is requested.
+   * Waits until a card resource is handed over to the provided waiter or the provided max time is
+   * reached.
+   *
+   * <p>If some availabilities can not be signaled, then a new dispatch is triggered at each cycle.
    *
-   * @param cardResource The founded card resource or null if not found.
+   * @param waiter The waiter.
+   * @param maxTime The time (in milliseconds) after which the allocation process ends.
+   * @return Null if no card resource has been handed over.
    */
-  private void pauseIfNeeded(CardResource cardResource) {
-    if (cardResource == null && globalConfiguration.isBlockingAllocationMode()) {
+  private CardResourceLeaseAdapter awaitHandOver(AllocationWaiter waiter, long maxTime) {
+    long waitMillis;
+    while ((waitMillis = maxTime - System.currentTimeMillis()) > 0) {
+      if (isPeriodicRecheckNeeded()) {
+        waitMillis = Math.min(waitMillis, getRecheckPeriodMillis());
+      }
       try {
-        Thread.sleep(globalConfiguration.getCycleDurationMillis());
+        return (CardResourceLeaseAdapter) waiter.future.get(waitMillis, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        dispatchCardResources();
+      } catch (ExecutionException e) {
+        break;
       } catch (InterruptedException e) {
-        logger.error("Unexpected sleep interruption", e);
+        logger.debug("Allocation wait interrupted [profile={}]", cardProfile.getProfileName());
         Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    waiters.remove(waiter);
+    if (waiter.future.cancel(false) || waiter.future.isCompletedExceptionally()) {
+      return null;
+    }
+    // The card resource has been handed over in the meantime.
+    return (CardResourceLeaseAdapter) waiter.future.getNow(null);
+  }
+
+  /**
+   * Gets asynchronously a card resource and locks the associated reader.
+   *
+   * <p>If no card resource is immediately available (or if older requests are waiting in fair
+   * mode), then the request is queued and the returned future is completed when a card resource is
+   * handed over to it, when the deadline is reached (with null), or when the service is stopped
+   * (exceptionally). Cancelling the future removes the request from the queue.
+   *
+   * @param timeoutMillis The maximum amount of time (in milliseconds) to wait, 0 for no deadline.
+   * @return A not null future, completed with the lease of the card resource.
+   * @since 3.2.0
+   */
+  CompletableFuture<CardResource> getCardResourceAsync(long timeoutMillis) {
+    if (!globalConfiguration.isFairAllocationMode() || waiters.isEmpty()) {
+      CardResourceLeaseAdapter lease = allocateCardResource();
+      if (lease != null) {
+        return CompletableFuture.completedFuture(lease);
       }
     }
+    AllocationWaiter waiter = new AllocationWaiter();
+    ScheduledExecutorService scheduler = service.getScheduler();
+    if (scheduler == null) {
+      waiter.future.completeExceptionally(
+          new IllegalStateException("Card resource service stopped"));
+      return waiter.future;
+    }
+    ScheduledFuture<?> scheduledDeadlineTask = null;
+    ScheduledFuture<?> scheduledRecheckTask = null;
+    try {
+      if (timeoutMillis > 0) {
+        scheduledDeadlineTask =
+            scheduler.schedule(
+                () -> waiter.future.complete(null), timeoutMillis, TimeUnit.MILLISECONDS);
+      }
+      if (isPeriodicRecheckNeeded()) {
+        scheduledRecheckTask =
+            scheduler.scheduleWithFixedDelay(
+                this::recheckCardResources,
+                getRecheckPeriodMillis(),
+                getRecheckPeriodMillis(),
+                TimeUnit.MILLISECONDS);
+      }
+    } catch (RejectedExecutionException e) {
+      // The service is stopping.
+      if (scheduledDeadlineTask != null) {
+        scheduledDeadlineTask.cancel(false);
+      }
+      waiter.future.completeExceptionally(
+          new IllegalStateException("Card resource service stopped", e));
+      return waiter.future;
+    }
+    ScheduledFuture<?> deadlineTask = scheduledDeadlineTask;
+    ScheduledFuture<?> recheckTask = scheduledRecheckTask;
+    statistics.onWaitStarted();
+    waiter.future.whenComplete(
+        (cardResource, throwable) -> {
+          waiters.remove(waiter);
+          if (deadlineTask != null) {
+            deadlineTask.cancel(false);
+          }
+          if (recheckTask != null) {
+            recheckTask.cancel(false);
+          }
+          statistics.onWaitEnded(System.nanoTime() - waiter.creationNanos, cardResource != null);
+        });
+    waiters.add(waiter);
+    // A card resource may have been released in the meantime.
+    dispatchCardResources();
+    return waiter.future;
+  }
+
+  /**
+   * Indicates that the discovery of the card resources is completed, making the profile ready even
+   * if it has no card resource.
+   *
+   * @since 3.2.0
+   */
+  void onDiscoveryCompleted() {
+    readiness.complete(null);
+    refillWarmReserve();
+  }
+
+  /**
+   * Gets a future completed when the profile is ready.
+   *
+   * @return A new future depending on the readiness of the profile, so that its completion by the
+   *     caller has no effect on the profile.
+   * @since 3.2.0
+   */
+  CompletableFuture<Void> getReadiness() {
+    return readiness.thenApply(Function.identity());
+  }
+
+  /**
+   * Completes exceptionally all the waiting allocation requests and the readiness of the profile
+   * because the service is stopping or the profile is removed.
+   *
+   * @param message The message of the {@link IllegalStateException} completing the requests.
+   * @since 3.2.0
+   */
+  void cancelWaiters(String message) {
+    readiness.completeExceptionally(new IllegalStateException(message));
+    AllocationWaiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      waiter.future.completeExceptionally(new IllegalStateException(message));
+    }
+  }
+
+  /**
+   * Gets the period of the re-check of the availabilities that can not be signaled.
+   *
+   * @return The cycle duration if the blocking allocation mode is configured, a default period
+   *     otherwise.
+   */
+  private int getRecheckPeriodMillis() {
+    return isBlockingAllocationMode ? cycleDurationMillis : DEFAULT_RECHECK_PERIOD_MILLIS;
+  }
+
+  /**
+   * Triggers a re-check of the availabilities that can not be signaled: the card resources are
+   * dispatched on the executor of the requests to the "pool" plugins, so that the scheduler of the
+   * service is not blocked by the "pool" plugins. The re-check is skipped if the previous one has
+   * not yet started, or if the executor is not available or saturated, the next period retrying.
+   */
+  private void recheckCardResources() {
+    if (isRecheckPending.compareAndSet(false, true)
+        && !executePoolTask(
+            () -> {
+              isRecheckPending.set(false);
+              dispatchCardResources();
+            })) {
+      isRecheckPending.set(false);
+    }
+  }
+
+  /**
+   * Executes the provided task, which may request the "pool" plugins, on the executor of the
+   * requests to the "pool" plugins.
+   *
+   * @param task The task to execute.
+   * @return False if the executor is not available (service stopping) or saturated.
+   */
+  private boolean executePoolTask(Runnable task) {
+    ExecutorService executor = service.getPoolAllocationExecutor();
+    if (executor == null) {
+      return false;
+    }
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Hands over the available card resources to the waiters in their arrival order, until there are
+   * no more waiters or available card resources.
+   *
+   * <p>Concurrent dispatch requests are merged so that only one thread dispatches at a time.
+   */
+  private void dispatchCardResources() {
+    if (dispatchRequestCount.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      AllocationWaiter waiter;
+      while ((waiter = waiters.peek()) != null) {
+        if (waiter.future.isDone()) {
+          waiters.remove(waiter);
+          continue;
+        }
+        CardResourceLeaseAdapter lease = allocateCardResource();
+        if (lease == null) {
+          break;
+        }
+        waiters.remove(waiter);
+        lease.setHolderThreadName(waiter.threadName);
+        if (!waiter.future.complete(lease)) {
+          // The waiter gave up in the meantime.
+          lease.close();
+        }
+      }
+      missed = dispatchRequestCount.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  /**
+   * Indicates if some card resource availabilities can not be signaled and must be periodically
+   * checked (pool plugins).
+   *
+   * @return True if a periodic check is needed.
+   */
+  private boolean isPeriodicRecheckNeeded() {
+    return !poolPlugins.isEmpty();
+  }
+
+  /**
+   * Indicates if the service accepts allocations, that is if it is started and not stopping.
+   *
+   * @return False if the service is stopped or stopping.
+   */
+  private boolean isServiceAllocating() {
+    return service.isStarted() && !service.isStopping();
   }
 
   /**
-   * Tries to get a card resource searching in "regular" and "pool" plugins.
+   * Makes a single attempt to get a card resource and lock the associated reader.
    *
    * @return Null if there is no card resource available.
    */
-  private CardResource getRegularOrPoolCardResource() {
-    CardResource cardResource;
+  private CardResourceLeaseAdapter allocateCardResource() {
+    if (!isServiceAllocating()) {
+      return null;
+    }
+    if (plugins.isEmpty()) {
+      return getPoolCardResource();
+    }
+    if (poolPlugins.isEmpty()) {
+      return getRegularCardResource();
+    }
+    return getRegularOrPoolCardResource();
+  }
+
+  /**
+   * Tries to get the requested number of card resources and locks the associated readers, all or
+   * nothing.
+   *
+   * <p>Each attempt performs a single pass over the card resources. If fewer card resources than
+   * requested are obtained, then they are all released before waiting for new availabilities until
+   * the timeout is reached.
+   *
+   * <p>In fair mode, no card resource is taken as long as single allocation requests are waiting.
+   *
+   * @param count The number of card resources to get.
+   * @param timeoutMillis The maximum amount of time (in milliseconds) to wait, 0 for a single
+   *     attempt.
+   * @return An empty list if the requested number of card resources is not available.
+   * @since 3.2.0
+   */
+  List<CardResourceLeaseAdapter> getCardResources(int count, long timeoutMillis) {
+    long maxTime = System.currentTimeMillis() + timeoutMillis;
+    long waitStartNanos = 0;
+    boolean isInterrupted = false;
+    List<CardResourceLeaseAdapter> results = Collections.emptyList();
+    do {
+      long signalCount = getAvailabilitySignalCount();
+      if (!globalConfiguration.isFairAllocationMode() || waiters.isEmpty()) {
+        results = allocateCardResources(count);
+        if (results.size() < count) {
+          releasePartialCardResources(results);
+          results = Collections.emptyList();
+        }
+      }
+      if (results.isEmpty() && timeoutMillis > 0) {
+        if (waitStartNanos == 0) {
+          waitStartNanos = System.nanoTime();
+          statistics.onWaitStarted();
+        }
+        isInterrupted = !awaitCardResourceAvailability(signalCount, maxTime);
+      }
+    } while (results.isEmpty()
+        && !isInterrupted
+        && isServiceAllocating()
+        && System.currentTimeMillis() < maxTime);
+    if (waitStartNanos != 0) {
+      statistics.onWaitEnded(System.nanoTime() - waitStartNanos, !results.isEmpty());
+    }
+    return results;
+  }
+
+  /**
+   * Releases the card resources obtained by an incomplete batch allocation.
+   *
+   * <p>The other card profile managers are signaled, as well as the waiters of this one if any.
+   *
+   * @param cardResources The card resources to release.
+   */
+  private void releasePartialCardResources(List<CardResourceLeaseAdapter> cardResources) {
+    if (cardResources.isEmpty()) {
+      return;
+    }
+    service.releaseCardResources(cardResources, this);
+    if (!waiters.isEmpty()) {
+      dispatchCardResources();
+    }
+  }
+
+  /**
+   * Signals that a card resource may be available (released, created after a card insertion or a
+   * reader connection).
+   *
+   * <p>In fair mode, the available card resources are handed over to the waiters in their arrival
+   * order. Otherwise, all blocked allocation requests are woken up.
+   *
+   * @since 3.2.0
+   */
+  void signalCardResourceAvailable() {
+    if (!waiters.isEmpty()) {
+      dispatchCardResources();
+    }
+    synchronized (allocationMonitor) {
+      availabilitySignalCount++;
+      allocationMonitor.notifyAll();
+    }
+  }
+
+  /**
+   * Gets the current number of availability signals received.
+   *
+   * @return A positive long.
+   */
+  private long getAvailabilitySignalCount() {
+    synchronized (allocationMonitor) {
+      return availabilitySignalCount;
+    }
+  }
+
+  /**
+   * Waits until a card resource availability is signaled or the provided max time is reached.
+   *
+   * <p>The wait is skipped if a signal has been received since the provided signal count was read.
+   * If some availabilities can not be signaled, then the wait is limited to the cycle duration.
+   *
+   * @param signalCount The signal count read before the last search.
+   * @param maxTime The time (in milliseconds) after which the allocation process ends.
+   * @return False if the calling thread has been interrupted.
+   */
+  private boolean awaitCardResourceAvailability(long signalCount, long maxTime) {
+    synchronized (allocationMonitor) {
+      if (availabilitySignalCount != signalCount) {
+        return true;
+      }
+      long waitMillis = maxTime - System.currentTimeMillis();
+      if (waitMillis <= 0) {
+        return true;
+      }
+      if (isPeriodicRecheckNeeded()) {
+        waitMillis = Math.min(waitMillis, getRecheckPeriodMillis());
+      }
+      try {
+        allocationMonitor.wait(waitMillis);
+        return true;
+      } catch (InterruptedException e) {
+        logger.debug("Allocation wait interrupted [profile={}]", cardProfile.getProfileName());
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Tries to get the requested number of card resources searching in "regular" and "pool" plugins
+   * according to the configured priority.
+   *
+   * @param count The number of card resources to get.
+   * @return A not null list containing at most the requested number of locked card resources,
+   *     empty if the service is stopped or stopping.
+   */
+  private List<CardResourceLeaseAdapter> allocateCardResources(int count) {
+    if (!isServiceAllocating()) {
+      return Collections.emptyList();
+    }
+    List<CardResourceLeaseAdapter> results = new ArrayList<>(count);
+    if (globalConfiguration.isUsePoolFirst()) {
+      collectPoolCardResources(count, results);
+      collectRegularCardResources(count, results);
+    } else {
+      collectRegularCardResources(count, results);
+      collectPoolCardResources(count, results);
+    }
+    return results;
+  }
+
+  /**
+   * Tries to get a card resource searching in "regular" and "pool" plugins according to the
+   * configured priority.
+   *
+   * @return Null if there is no card resource available.
+   */
+  private CardResourceLeaseAdapter getRegularOrPoolCardResource() {
+    CardResourceLeaseAdapter cardResource;
     if (globalConfiguration.isUsePoolFirst()) {
       cardResource = getPoolCardResource();
       if (cardResource == null) {
@@ -280,95 +1123,565 @@ private CardResource getRegularOrPoolCardResource() {
   }
 
   /**
-   * Tries to get a card resource searching in all "regular" plugins.
+   * Tries to complete the provided list with card resources found in all "regular" plugins.
    *
-   * <p>If a card resource is no more usable, then removes it from the service.
+   * <p>Each idle card resource is visited at most once.
    *
-   * @return Null if there is no card resource available.
+   * @param count The number of card resources expected in the list.
+   * @param results The list to complete.
    */
-  private CardResource getRegularCardResource() {
-
-    CardResource result = null;
-    List<CardResource> unusableCardResources = new ArrayList<>(0);
+  private void collectRegularCardResources(int count, List<CardResourceLeaseAdapter> results) {
+    while (results.size() < count) {
+      CardResourceLeaseAdapter cardResource = getRegularCardResource();
+      if (cardResource == null) {
+        break;
+      }
+      results.add(cardResource);
+    }
+  }
 
-    for (CardResource cardResource : cardResources) {
+  /**
+   * Tries to get a card resource searching in all "regular" plugins.
+   *
+   * <p>Only the idle card resources are visited: each one is taken from the idle set and its reader
+   * is locked. If the reader is busy, then the card resource will be given back when the reader is
+   * unlocked, whether released or reclaimed by the service after a usage timeout. If a card
+   * resource is no more usable, then removes it from the service.
+   *
+   * @return The lease of the card resource, null if there is no card resource available.
+   */
+  private CardResourceLeaseAdapter getRegularCardResource() {
+    CardResourceAdapter cardResource;
+    while ((cardResource = pollIdleCardResource()) != null) {
       CardReader reader = cardResource.getReader();
-      synchronized (reader) {
-        ReaderManagerAdapter readerManager = service.getReaderManager(reader);
-        if (readerManager != null) {
+      ReaderManagerAdapter readerManager = service.getReaderManager(reader);
+      CardResourceLeaseAdapter lease = null;
+      boolean isUnusable = readerManager == null;
+      if (!isUnusable) {
+        synchronized (reader) {
           try {
-            if (readerManager.lock(cardResource, cardProfile.getCardResourceProfileExtension())) {
-              int cardResourceIndex = cardResources.indexOf(cardResource);
-              updateCardResourcesOrder(cardResourceIndex);
-              result = cardResource;
-              break;
-            }
+            lease = readerManager.lock(cardResource, this);
           } catch (IllegalStateException e) {
-            unusableCardResources.add(cardResource);
+            isUnusable = true;
           }
-        } else {
-          unusableCardResources.add(cardResource);
         }
       }
+      if (lease != null) {
+        return lease;
+      }
+      if (isUnusable) {
+        service.removeCardResource(cardResource);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Takes an idle card resource according to the configured allocation strategy.
+   *
+   * <p>When the selection affinity applies, if the selected card resource is not the current
+   * selected one of its reader and if this reader is shared with other profiles, then an idle card
+   * resource already selected in its reader is preferred, so that the readers shared by several
+   * profiles are not switched back and forth from one application to another. The reader is only
+   * switched if there is no such card resource.
+   *
+   * @return Null if there is no idle card resource.
+   */
+  private CardResourceAdapter pollIdleCardResource() {
+    Map.Entry<Long, CardResourceAdapter> entry;
+    do {
+      entry = selectIdleCardResource();
+      if (entry == null) {
+        return null;
+      }
+      if (isSelectionAffinityEnabled && isSelectionSwitchRequired(entry.getValue())) {
+        CardResourceAdapter selectedCardResource = pollSelectedIdleCardResource();
+        if (selectedCardResource != null) {
+          statistics.onSelectionSwitchAvoided();
+          return selectedCardResource;
+        }
+      }
+    } while (!idleCardResources.remove(entry.getKey(), entry.getValue()));
+    selectedIdleCardResources.remove(entry.getKey(), entry.getValue());
+    return entry.getValue();
+  }
+
+  /**
+   * Indicates if the provided card resource is the current selected one of its reader.
+   *
+   * @param cardResource The card resource.
+   * @return False if the reader is no more managed by the service.
+   */
+  private boolean isSelectedInReader(CardResourceAdapter cardResource) {
+    ReaderManagerAdapter readerManager = service.getReaderManager(cardResource.getReader());
+    return readerManager != null && readerManager.isSelected(cardResource);
+  }
+
+  /**
+   * Indicates if allocating the provided card resource requires to switch the selection of a reader
+   * shared with other profiles.
+   *
+   * @param cardResource The card resource.
+   * @return False if the card resource is the current selected one of its reader, or if its reader
+   *     has no other card resource or is no more managed by the service.
+   */
+  private boolean isSelectionSwitchRequired(CardResourceAdapter cardResource) {
+    ReaderManagerAdapter readerManager = service.getReaderManager(cardResource.getReader());
+    return readerManager != null
+        && !readerManager.isSelected(cardResource)
+        && readerManager.isShared();
+  }
+
+  /**
+   * Takes the idle card resource having the lowest rank among those which are the current selected
+   * one of their reader, discarding the outdated entries of the index.
+   *
+   * @return Null if there is no such card resource.
+   */
+  private CardResourceAdapter pollSelectedIdleCardResource() {
+    Map.Entry<Long, CardResourceAdapter> entry;
+    while ((entry = selectedIdleCardResources.pollFirstEntry()) != null) {
+      if (isSelectedInReader(entry.getValue())
+          && idleCardResources.remove(entry.getKey(), entry.getValue())) {
+        return entry.getValue();
+      }
     }
+    return null;
+  }
 
-    // Remove unusable card resources identified.
-    for (CardResource cardResource : unusableCardResources) {
-      service.removeCardResource(cardResource);
+  /**
+   * Selects an idle card resource according to the configured allocation strategy:
+   *
+   * <ul>
+   *   <li>FIRST: the idle card resource having the lowest rank,
+   *   <li>CYCLIC: the first idle card resource starting from the next position of a shared cursor
+   *       over the rank snapshot,
+   *   <li>RANDOM: the first idle card resource starting from a random position in the rank
+   *       snapshot,
+   *   <li>custom or usage based: the idle card resource selected by the allocation strategy SPI.
+   * </ul>
+   *
+   * <p>The shared structures are never reordered: the selection only reads the rank snapshot and
+   * the idle set.
+   *
+   * @return Null if there is no idle card resource.
+   */
+  private Map.Entry<Long, CardResourceAdapter> selectIdleCardResource() {
+    Map.Entry<Long, CardResourceAdapter> entry = null;
+    if (allocationStrategySpi != null) {
+      entry = selectIdleCardResource(allocationStrategySpi);
+    } else if (allocationStrategy != AllocationStrategy.FIRST) {
+      long[] ranks = cardResourceRankSnapshot;
+      if (ranks.length > 1) {
+        int position =
+            allocationStrategy == AllocationStrategy.CYCLIC
+                ? (cyclicCursor.getAndIncrement() & Integer.MAX_VALUE) % ranks.length
+                : ThreadLocalRandom.current().nextInt(ranks.length);
+        entry = idleCardResources.ceilingEntry(ranks[position]);
+      }
     }
+    return entry != null ? entry : idleCardResources.firstEntry();
+  }
 
-    return result;
+  /**
+   * Selects an idle card resource using the provided allocation strategy SPI fed with the usage
+   * statistics of the idle card resources.
+   *
+   * @param allocationStrategySpi The allocation strategy to use.
+   * @return Null if there is no idle card resource or if the strategy selected none of them.
+   */
+  private Map.Entry<Long, CardResourceAdapter> selectIdleCardResource(
+      CardResourceAllocationStrategySpi allocationStrategySpi) {
+    List<CardResourceUsage> idleCardResourceUsages = new ArrayList<>(idleCardResources.size());
+    for (CardResourceAdapter cardResource : idleCardResources.values()) {
+      ReaderManagerAdapter readerManager = service.getReaderManager(cardResource.getReader());
+      CardResourceUsage cardResourceUsage =
+          readerManager != null ? readerManager.getCardResourceUsage(cardResource) : null;
+      if (cardResourceUsage != null) {
+        idleCardResourceUsages.add(cardResourceUsage);
+      }
+    }
+    if (idleCardResourceUsages.isEmpty()) {
+      return null;
+    }
+    CardResource selectedCardResource =
+        allocationStrategySpi.selectCardResource(
+            Collections.unmodifiableList(idleCardResourceUsages));
+    Long rank = selectedCardResource != null ? cardResourceRanks.get(selectedCardResource) : null;
+    if (rank == null) {
+      return null;
+    }
+    CardResourceAdapter cardResource = idleCardResources.get(rank);
+    return cardResource != null ? new AbstractMap.SimpleImmutableEntry<>(rank, cardResource) : null;
   }
 
   /**
-   * Updates the order of the created card resources according to the configured strategy.
+   * Tries to complete the provided list with card resources allocated from all "pool" plugins.
    *
-   * @param cardResourceIndex The current card resource index of the available card resource
-   *     founded.
+   * @param count The number of card resources expected in the list.
+   * @param results The list to complete.
    */
-  private void updateCardResourcesOrder(int cardResourceIndex) {
-    if (globalConfiguration.getAllocationStrategy() == AllocationStrategy.CYCLIC) {
-      Collections.rotate(cardResources, -cardResourceIndex - 1);
-    } else if (globalConfiguration.getAllocationStrategy() == AllocationStrategy.RANDOM) {
-      Collections.shuffle(cardResources);
+  private void collectPoolCardResources(int count, List<CardResourceLeaseAdapter> results) {
+    while (results.size() < count) {
+      CardResourceLeaseAdapter cardResource = getPoolCardResource();
+      if (cardResource == null) {
+        break;
+      }
+      results.add(cardResource);
+    }
+  }
+
+  /**
+   * Tries to get a card resource searching in all "pool" plugins, one after the other or
+   * concurrently if the hedged allocation mode is configured.
+   *
+   * @return The lease of the card resource, null if there is no card resource available.
+   */
+  private CardResourceLeaseAdapter getPoolCardResource() {
+    if (globalConfiguration.getWarmReserveSize() != 0) {
+      ReservedPoolCardResource reservedCardResource = warmReserve.pollFirst();
+      refillWarmReserve();
+      if (reservedCardResource != null) {
+        statistics.onWarmReserveCardResourceRemoved();
+        return createPoolCardResourceLease(
+            reservedCardResource.poolPlugin, reservedCardResource.cardResource);
+      }
+    }
+    if (globalConfiguration.isHedgedPoolAllocation() && poolPlugins.size() > 1) {
+      ExecutorService executor = service.getPoolAllocationExecutor();
+      if (executor != null) {
+        return getHedgedPoolCardResource(executor);
+      }
     }
+    PoolAllocation allocation = allocatePoolCardResource();
+    return allocation != null
+        ? createPoolCardResourceLease(allocation.poolPlugin, allocation.cardResource)
+        : null;
   }
 
   /**
-   * Tries to get a card resource searching in all "pool" plugins.
+   * Tries to get a card resource requesting the "pool" plugins one after the other, without
+   * creating its lease.
    *
    * @return Null if there is no card resource available.
    */
-  private CardResource getPoolCardResource() {
-    CardResourceProfileExtension cardProfileExtension =
-        cardProfile.getCardResourceProfileExtension();
+  private PoolAllocation allocatePoolCardResource() {
     for (PoolPlugin poolPlugin : poolPlugins) {
+      CardResourceAdapter cardResource = allocatePoolCardResource(poolPlugin);
+      if (cardResource != null) {
+        return new PoolAllocation(poolPlugin, cardResource);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Refills the warm reserve in background up to its configured size, unless a refill is already
+   * in progress, the reserve is full or released.
+   */
+  private void refillWarmReserve() {
+    int warmReserveSize = globalConfiguration.getWarmReserveSize();
+    if (warmReserveSize == 0
+        || poolPlugins.isEmpty()
+        || isWarmReserveReleased
+        || warmReserve.size() >= warmReserveSize
+        || !isWarmReserveRefilling.compareAndSet(false, true)) {
+      return;
+    }
+    ExecutorService executor = service.getPoolAllocationExecutor();
+    try {
+      if (executor == null) {
+        // The service is not started or is stopping.
+        isWarmReserveRefilling.set(false);
+        return;
+      }
+      executor.execute(
+          () -> {
+            try {
+              PoolAllocation allocation;
+              while (warmReserve.size() < warmReserveSize
+                  && !isWarmReserveReleased
+                  && (allocation = allocatePoolCardResource()) != null) {
+                boolean isAdded;
+                synchronized (warmReserve) {
+                  isAdded = warmReserve.size() < warmReserveSize;
+                  if (isAdded) {
+                    warmReserve.addLast(
+                        new ReservedPoolCardResource(
+                            allocation.poolPlugin, allocation.cardResource, Long.MAX_VALUE));
+                    statistics.onWarmReserveCardResourceAdded();
+                  }
+                }
+                if (!isAdded) {
+                  // Filled in the meantime by a released card resource.
+                  releaseReaderSilently(
+                      allocation.poolPlugin, allocation.cardResource.getReader());
+                  break;
+                }
+                if (isWarmReserveReleased) {
+                  // Released in the meantime.
+                  releaseWarmReserve();
+                } else {
+                  signalCardResourceAvailable();
+                }
+              }
+            } finally {
+              isWarmReserveRefilling.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // The service is stopping or the executor is saturated, the next allocation retrying.
+      isWarmReserveRefilling.set(false);
+    }
+  }
+
+  /**
+   * Keeps the card resource of the provided ended lease associated with a "pool" plugin in the
+   * warm reserve if it is not full, or during the linger time otherwise, instead of releasing its
+   * reader to its "pool" plugin.
+   *
+   * @param lease The ended lease.
+   * @return False if the card resource is not kept, its reader then having to be released.
+   * @since 3.2.0
+   */
+  boolean keepPoolCardResource(CardResourceLeaseAdapter lease) {
+    int warmReserveSize = globalConfiguration.getWarmReserveSize();
+    if (warmReserveSize == 0 || isWarmReserveReleased) {
+      return false;
+    }
+    synchronized (warmReserve) {
+      long expirationTimeMillis;
+      if (warmReserve.size() < warmReserveSize) {
+        expirationTimeMillis = Long.MAX_VALUE;
+      } else {
+        int lingerTimeMillis = globalConfiguration.getWarmReserveLingerTimeMillis();
+        ScheduledExecutorService scheduler = service.getScheduler();
+        if (lingerTimeMillis == 0 || scheduler == null) {
+          return false;
+        }
+        // Computed before scheduling the trim, so that the trim never runs before the expiration.
+        expirationTimeMillis = System.currentTimeMillis() + lingerTimeMillis;
+        try {
+          scheduler.schedule(
+              this::triggerWarmReserveTrim, lingerTimeMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          // The service is stopping.
+          return false;
+        }
+      }
+      warmReserve.addFirst(
+          new ReservedPoolCardResource(
+              lease.getPoolPlugin(),
+              (CardResourceAdapter) lease.getCardResource(),
+              expirationTimeMillis));
+      statistics.onWarmReserveCardResourceAdded();
+    }
+    if (isWarmReserveReleased) {
+      // Released in the meantime.
+      releaseWarmReserve();
+    } else {
+      signalCardResourceAvailable();
+    }
+    return true;
+  }
+
+  /**
+   * Trims the warm reserve on the executor of the requests to the "pool" plugins, so that the
+   * scheduler of the service is not blocked by the "pool" plugins. The trim is postponed by the
+   * linger time if the executor is saturated.
+   */
+  private void triggerWarmReserveTrim() {
+    if (executePoolTask(this::trimWarmReserve) || isWarmReserveReleased) {
+      return;
+    }
+    ScheduledExecutorService scheduler = service.getScheduler();
+    if (scheduler != null) {
       try {
-        CardReader reader = poolPlugin.allocateReader(cardProfile.getReaderGroupReference());
-        if (reader != null) {
-          SmartCard selectedSmartCard = poolPlugin.getSelectedSmartCard(reader);
-          SmartCard smartCard =
-              selectedSmartCard != null
-                  ? cardProfileExtension.matches(selectedSmartCard)
-                  : cardProfileExtension.matches(
-                      reader, SmartCardServiceProvider.getService().getReaderApiFactory());
-          if (smartCard != null) {
-            KeypleReaderExtension readerExtension =
-                poolPlugin.getReaderExtension(KeypleReaderExtension.class, reader.getName());
-            CardResource cardResource = new CardResourceAdapter(reader, readerExtension, smartCard);
-            service.registerPoolCardResource(cardResource, poolPlugin);
-            return cardResource;
-          } else {
-            releaseReaderSilently(poolPlugin, reader);
+        scheduler.schedule(
+            this::triggerWarmReserveTrim,
+            globalConfiguration.getWarmReserveLingerTimeMillis(),
+            TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // The service is stopping.
+      }
+    }
+  }
+
+  /**
+   * Releases to their "pool" plugin the readers of the card resources whose linger time is
+   * exceeded, as long as the warm reserve exceeds its configured size.
+   */
+  private void trimWarmReserve() {
+    int warmReserveSize = globalConfiguration.getWarmReserveSize();
+    long nowMillis = System.currentTimeMillis();
+    Iterator<ReservedPoolCardResource> iterator = warmReserve.descendingIterator();
+    while (warmReserve.size() > warmReserveSize && iterator.hasNext()) {
+      ReservedPoolCardResource reservedCardResource = iterator.next();
+      if (reservedCardResource.expirationTimeMillis <= nowMillis
+          && warmReserve.removeFirstOccurrence(reservedCardResource)) {
+        statistics.onWarmReserveCardResourceRemoved();
+        releaseReaderSilently(
+            reservedCardResource.poolPlugin, reservedCardResource.cardResource.getReader());
+      }
+    }
+  }
+
+  /**
+   * Releases to their "pool" plugin the readers of all the card resources of the warm reserve, no
+   * card resource being kept afterwards.
+   *
+   * @since 3.2.0
+   */
+  void releaseWarmReserve() {
+    isWarmReserveReleased = true;
+    ReservedPoolCardResource reservedCardResource;
+    while ((reservedCardResource = warmReserve.pollFirst()) != null) {
+      statistics.onWarmReserveCardResourceRemoved();
+      releaseReaderSilently(
+          reservedCardResource.poolPlugin, reservedCardResource.cardResource.getReader());
+    }
+  }
+
+  /**
+   * Tries to get a card resource requesting the "pool" plugins concurrently: the next pool plugin
+   * is requested when the previous ones have not provided a matching card within the hedge delay,
+   * or as soon as one of them fails. The first matching card provided is allocated, the readers
+   * provided by the other pool plugins are released.
+   *
+   * @param executor The executor of the requests.
+   * @return The lease of the card resource, null if there is no card resource available or if the
+   *     current thread is interrupted.
+   */
+  private CardResourceLeaseAdapter getHedgedPoolCardResource(ExecutorService executor) {
+    HedgedPoolAllocation hedgedAllocation = new HedgedPoolAllocation();
+    int hedgeDelayMillis = globalConfiguration.getPoolAllocationHedgeDelayMillis();
+    requestPoolCardResource(executor, poolPlugins.get(0), hedgedAllocation);
+    int nextPoolPluginIndex = 1;
+    int pendingRequestCount = 1;
+    PoolAllocation winner = null;
+    try {
+      while (winner == null && pendingRequestCount != 0) {
+        PoolAllocation allocation =
+            nextPoolPluginIndex < poolPlugins.size()
+                ? hedgedAllocation.completedAllocations.poll(
+                    hedgeDelayMillis, TimeUnit.MILLISECONDS)
+                : hedgedAllocation.completedAllocations.take();
+        if (allocation != null) {
+          pendingRequestCount--;
+          if (allocation.cardResource != null) {
+            winner = allocation;
           }
+        } else {
+          logger.debug(
+              "Pool plugin slow to respond, requesting the next one [profile={}, poolPlugin={}]",
+              cardProfile.getProfileName(),
+              poolPlugins.get(nextPoolPluginIndex).getName());
+        }
+        if (winner == null && nextPoolPluginIndex < poolPlugins.size()) {
+          // Hedge delay elapsed or request failed: request the next pool plugin.
+          requestPoolCardResource(
+              executor, poolPlugins.get(nextPoolPluginIndex++), hedgedAllocation);
+          pendingRequestCount++;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      // Release the readers provided by the other pool plugins, now or when provided.
+      for (PoolAllocation allocation : hedgedAllocation.close()) {
+        if (allocation != winner && allocation.cardResource != null) {
+          releaseReaderSilently(allocation.poolPlugin, allocation.cardResource.getReader());
+        }
+      }
+    }
+    return winner != null
+        ? createPoolCardResourceLease(winner.poolPlugin, winner.cardResource)
+        : null;
+  }
+
+  /**
+   * Requests a card resource to the provided "pool" plugin in background, the result being added
+   * to the completed allocations of the provided hedged allocation, or released if the hedged
+   * allocation is already closed.
+   *
+   * @param executor The executor of the request.
+   * @param poolPlugin The pool plugin.
+   * @param hedgedAllocation The hedged allocation.
+   */
+  private void requestPoolCardResource(
+      ExecutorService executor, PoolPlugin poolPlugin, HedgedPoolAllocation hedgedAllocation) {
+    try {
+      executor.execute(
+          () -> {
+            PoolAllocation allocation =
+                new PoolAllocation(poolPlugin, allocatePoolCardResource(poolPlugin));
+            if (!hedgedAllocation.complete(allocation) && allocation.cardResource != null) {
+              releaseReaderSilently(poolPlugin, allocation.cardResource.getReader());
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      if (executor.isShutdown()) {
+        // The service is stopping.
+        hedgedAllocation.complete(new PoolAllocation(poolPlugin, null));
+      } else {
+        // The executor is saturated: the pool plugin is requested sequentially.
+        hedgedAllocation.complete(
+            new PoolAllocation(poolPlugin, allocatePoolCardResource(poolPlugin)));
+      }
+    }
+  }
+
+  /**
+   * Tries to get a reader from the provided "pool" plugin and to create a card resource matching
+   * the profile with its card.<br>
+   * The reader is released if its card does not match.
+   *
+   * @param poolPlugin The pool plugin.
+   * @return Null if there is no reader available or if its card does not match.
+   */
+  private CardResourceAdapter allocatePoolCardResource(PoolPlugin poolPlugin) {
+    CardResourceProfileExtension cardProfileExtension =
+        cardProfile.getCardResourceProfileExtension();
+    try {
+      CardReader reader = poolPlugin.allocateReader(cardProfile.getReaderGroupReference());
+      if (reader != null) {
+        SmartCard selectedSmartCard = poolPlugin.getSelectedSmartCard(reader);
+        SmartCard smartCard =
+            selectedSmartCard != null
+                ? cardProfileExtension.matches(selectedSmartCard)
+                : cardProfileExtension.matches(
+                    reader, SmartCardServiceProvider.getService().getReaderApiFactory());
+        if (smartCard != null) {
+          KeypleReaderExtension readerExtension =
+              poolPlugin.getReaderExtension(KeypleReaderExtension.class, reader.getName());
+          return new CardResourceAdapter(reader, readerExtension, smartCard);
+        } else {
+          releaseReaderSilently(poolPlugin, reader);
         }
-      } catch (KeyplePluginException e) {
-        // Continue
       }
+    } catch (KeyplePluginException e) {
+      // Continue
     }
     return null;
   }
 
+  /**
+   * Creates and registers the lease of the provided card resource allocated from the provided
+   * "pool" plugin.
+   *
+   * @param poolPlugin The pool plugin.
+   * @param cardResource The card resource.
+   * @return A not null reference.
+   */
+  private CardResourceLeaseAdapter createPoolCardResourceLease(
+      PoolPlugin poolPlugin, CardResourceAdapter cardResource) {
+    CardResourceLeaseAdapter lease =
+        new CardResourceLeaseAdapter(
+            cardResource, poolPlugin, this, usageTimeoutMillis, System.currentTimeMillis());
+    service.registerPoolCardResource(lease);
+    return lease;
+  }
+
   private static void releaseReaderSilently(PoolPlugin poolPlugin, CardReader reader) {
     try {
       poolPlugin.releaseReader(reader);
@@ -376,4 +1689,108 @@ private static void releaseReaderSilently(PoolPlugin poolPlugin, CardReader read
       // NOP
     }
   }
+
+  /**
+   * The result of a request of a card resource to a "pool" plugin.
+   *
+   * @since 3.2.0
+   */
+  private static final class PoolAllocation {
+
+    /** The requested pool plugin. */
+    private final PoolPlugin poolPlugin;
+
+    /** The card resource created, null if none. */
+    private final CardResourceAdapter cardResource;
+
+    private PoolAllocation(PoolPlugin poolPlugin, CardResourceAdapter cardResource) {
+      this.poolPlugin = poolPlugin;
+      this.cardResource = cardResource;
+    }
+  }
+
+  /**
+   * A card resource associated with a "pool" plugin kept in the warm reserve.
+   *
+   * @since 3.2.0
+   */
+  private static final class ReservedPoolCardResource {
+
+    /** The pool plugin of the reader. */
+    private final PoolPlugin poolPlugin;
+
+    /** The card resource. */
+    private final CardResourceAdapter cardResource;
+
+    /** The time after which the reader may be released, Long.MAX_VALUE if kept in the reserve. */
+    private final long expirationTimeMillis;
+
+    private ReservedPoolCardResource(
+        PoolPlugin poolPlugin, CardResourceAdapter cardResource, long expirationTimeMillis) {
+      this.poolPlugin = poolPlugin;
+      this.cardResource = cardResource;
+      this.expirationTimeMillis = expirationTimeMillis;
+    }
+  }
+
+  /**
+   * The requests of a card resource to several "pool" plugins performed concurrently for a same
+   * allocation.
+   *
+   * @since 3.2.0
+   */
+  private static final class HedgedPoolAllocation {
+
+    /** The results of the requests completed while the hedged allocation is open. */
+    private final BlockingQueue<PoolAllocation> completedAllocations =
+        new LinkedBlockingQueue<>();
+
+    /** True once the allocation is decided (guarded by the instance). */
+    private boolean isClosed;
+
+    /**
+     * Adds the provided result to the completed allocations unless the hedged allocation is
+     * closed.
+     *
+     * @param allocation The result of a request.
+     * @return False if the hedged allocation is closed, the result then having to be released.
+     */
+    private synchronized boolean complete(PoolAllocation allocation) {
+      if (isClosed) {
+        return false;
+      }
+      completedAllocations.add(allocation);
+      return true;
+    }
+
+    /**
+     * Closes the hedged allocation, the results of the requests completed afterwards being no
+     * longer collected.
+     *
+     * @return The results of the requests completed and not yet consumed.
+     */
+    private synchronized List<PoolAllocation> close() {
+      isClosed = true;
+      List<PoolAllocation> allocations = new ArrayList<>(completedAllocations.size());
+      completedAllocations.drainTo(allocations);
+      return allocations;
+    }
+  }
+
+  /**
+   * An allocation request waiting for a card resource to be handed over.
+   *
+   * @since 3.2.0
+   */
+  private static final class AllocationWaiter {
+
+    /** Completed with the lease of the card resource handed over. */
+    private final CompletableFuture<CardResource> future = new CompletableFuture<>();
+
+    /** The creation time (in nanoseconds). */
+    private final long creationNanos = System.nanoTime();
+
+    /** The name of the requesting thread. */
+    private final String threadName = Thread.currentThread().getName();
+  }
 }
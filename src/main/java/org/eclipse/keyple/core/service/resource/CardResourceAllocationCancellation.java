@@ -0,0 +1,95 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle allowing to cancel one or more allocation requests while they are waiting for a card
+ * resource.
+ *
+ * <p>A request-scoped caller typically creates a new instance per request, provides it to {@link
+ * CardResourceService#getCardResource(String, long, java.util.concurrent.TimeUnit,
+ * CardResourceAllocationCancellation)} and invokes {@link #cancel()} when the request is abandoned.
+ * The cancellation is definitive.
+ *
+ * @since 3.2.0
+ */
+public final class CardResourceAllocationCancellation {
+
+  private final AtomicBoolean isCancelled;
+  private final Queue<Runnable> listeners;
+
+  /**
+   * Creates a new handle not cancelled.
+   *
+   * @since 3.2.0
+   */
+  public CardResourceAllocationCancellation() {
+    isCancelled = new AtomicBoolean();
+    listeners = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Cancels the allocation requests using this handle: the waiting requests stop waiting and return
+   * null, and the next requests return null immediately.
+   *
+   * @return True if this invocation has cancelled the handle, false if it was already cancelled.
+   * @since 3.2.0
+   */
+  public boolean cancel() {
+    if (!isCancelled.compareAndSet(false, true)) {
+      return false;
+    }
+    Runnable listener;
+    while ((listener = listeners.poll()) != null) {
+      listener.run();
+    }
+    return true;
+  }
+
+  /**
+   * Indicates if the handle has been cancelled.
+   *
+   * @return True if {@link #cancel()} has been invoked.
+   * @since 3.2.0
+   */
+  public boolean isCancelled() {
+    return isCancelled.get();
+  }
+
+  /**
+   * Registers a listener to run once when the handle is cancelled, or immediately if it is already
+   * cancelled.
+   *
+   * @param listener The listener.
+   * @since 3.2.0
+   */
+  void addListener(Runnable listener) {
+    listeners.add(listener);
+    if (isCancelled.get() && listeners.remove(listener)) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Unregisters a listener previously registered.
+   *
+   * @param listener The listener.
+   * @since 3.2.0
+   */
+  void removeListener(Runnable listener) {
+    listeners.remove(listener);
+  }
+}
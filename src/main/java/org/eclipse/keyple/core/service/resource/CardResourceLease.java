@@ -0,0 +1,99 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exclusive lease of a card resource, obtained from the card resource service and released by
+ * closing it.
+ *
+ * <p>Each lease carries a stamp identifying the allocation. Once the lease has been released, or
+ * once its card resource has been re-allocated to another user following a usage timeout, the lease
+ * becomes stale and releasing it has no effect on the new holder.
+ *
+ * <p>The lease is itself a {@link CardResource} delegating to the leased card resource, and is
+ * intended to be used in a try-with-resources statement.
+ *
+ * @since 3.2.0
+ */
+public interface CardResourceLease extends CardResource, AutoCloseable {
+
+  /**
+   * Returns the leased card resource.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  CardResource getCardResource();
+
+  /**
+   * Returns the stamp of the lease, unique for each allocation made by the card resource service.
+   *
+   * @return A strictly positive long.
+   * @since 3.2.0
+   */
+  long getStamp();
+
+  /**
+   * Indicates if the lease still holds the card resource.
+   *
+   * @return False if the lease has been released or if its card resource has been re-allocated.
+   * @since 3.2.0
+   */
+  boolean isValid();
+
+  /**
+   * Releases the card resource to make it available to other users, unless the lease is stale.
+   *
+   * @return True if the card resource has been released, false if the lease is stale or if the
+   *     service is stopped.
+   * @since 3.2.0
+   */
+  boolean release();
+
+  /**
+   * Releases the card resource as {@link #release()} does, ignoring the stale leases.
+   *
+   * @since 3.2.0
+   */
+  @Override
+  void close();
+
+  /**
+   * Renews the lease: its usage timeout restarts from now, so that the card resource is not
+   * reclaimed by the service as long as the holder keeps renewing the lease.
+   *
+   * <p>Has no effect on a lease without usage timeout.
+   *
+   * @return True if the lease has been renewed, false if the lease is stale or if the service is
+   *     stopped.
+   * @since 3.2.0
+   */
+  boolean renew();
+
+  /**
+   * Replaces the usage timeout of the lease by the provided one, starting from now.
+   *
+   * <p>This allows to apply to a single allocation a usage timeout different from the one
+   * configured for its profile, typically right after the allocation for a long transaction. The
+   * new usage timeout also applies to the next calls to {@link #renew()}.
+   *
+   * @param usageTimeout The new usage timeout, 0 for infinite.
+   * @param unit The unit of the usage timeout.
+   * @return True if the lease has been renewed, false if the lease is stale or if the service is
+   *     stopped.
+   * @throws IllegalArgumentException If the usage timeout is negative or if the unit is null.
+   * @since 3.2.0
+   */
+  boolean renew(long usageTimeout, TimeUnit unit);
+}
@@ -0,0 +1,365 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.service.PoolPlugin;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+
+/**
+ * Adapter of {@link CardResourceLease}.
+ *
+ * <p>A lease is created each time a card resource is allocated. For a "regular" plugin, it is the
+ * lock state of the reader manager as long as it is held.
+ *
+ * @since 3.2.0
+ */
+final class CardResourceLeaseAdapter implements CardResourceLease {
+
+  private final CardResourceAdapter cardResource;
+  private final long stamp;
+  private final ReaderManagerAdapter readerManager;
+  private final PoolPlugin poolPlugin;
+  private final CardProfileManagerAdapter cardProfileManager;
+  private final CardResourceUsageAdapter cardResourceUsage;
+  private volatile int usageTimeoutMillis;
+  private final long creationTimeMillis;
+  private volatile long expirationTimeMillis;
+  private volatile String holderThreadName = Thread.currentThread().getName();
+
+  /**
+   * Creates a lease of a card resource provided by a "regular" plugin.
+   *
+   * @param cardResource The leased card resource.
+   * @param readerManager The manager of the reader of the card resource.
+   * @param cardProfileManager The card profile manager which allocated the card resource.
+   * @param cardResourceUsage The usage statistics of the card resource, null if unavailable.
+   * @param usageTimeoutMillis The usage timeout (0 for infinite).
+   * @param creationTimeMillis The creation time.
+   * @since 3.2.0
+   */
+  CardResourceLeaseAdapter(
+      CardResourceAdapter cardResource,
+      ReaderManagerAdapter readerManager,
+      CardProfileManagerAdapter cardProfileManager,
+      CardResourceUsageAdapter cardResourceUsage,
+      int usageTimeoutMillis,
+      long creationTimeMillis) {
+    this(
+        cardResource,
+        readerManager,
+        null,
+        cardProfileManager,
+        cardResourceUsage,
+        usageTimeoutMillis,
+        creationTimeMillis);
+  }
+
+  /**
+   * Creates a lease of a card resource provided by a "pool" plugin.
+   *
+   * @param cardResource The leased card resource.
+   * @param poolPlugin The pool plugin which allocated the reader of the card resource.
+   * @param cardProfileManager The card profile manager which allocated the card resource.
+   * @param usageTimeoutMillis The usage timeout (0 for infinite).
+   * @param creationTimeMillis The creation time.
+   * @since 3.2.0
+   */
+  CardResourceLeaseAdapter(
+      CardResourceAdapter cardResource,
+      PoolPlugin poolPlugin,
+      CardProfileManagerAdapter cardProfileManager,
+      int usageTimeoutMillis,
+      long creationTimeMillis) {
+    this(
+        cardResource,
+        null,
+        poolPlugin,
+        cardProfileManager,
+        null,
+        usageTimeoutMillis,
+        creationTimeMillis);
+  }
+
+  private CardResourceLeaseAdapter(
+      CardResourceAdapter cardResource,
+      ReaderManagerAdapter readerManager,
+      PoolPlugin poolPlugin,
+      CardProfileManagerAdapter cardProfileManager,
+      CardResourceUsageAdapter cardResourceUsage,
+      int usageTimeoutMillis,
+      long creationTimeMillis) {
+    this.cardResource = cardResource;
+    stamp = CardResourceServiceAdapter.getInstance().nextLeaseStamp();
+    this.readerManager = readerManager;
+    this.poolPlugin = poolPlugin;
+    this.cardProfileManager = cardProfileManager;
+    this.cardResourceUsage = cardResourceUsage;
+    this.creationTimeMillis = creationTimeMillis;
+    setUsageTimeout(usageTimeoutMillis, creationTimeMillis);
+  }
+
+  /**
+   * Gets the manager of the reader of the card resource.
+   *
+   * @return Null if the card resource is provided by a "pool" plugin.
+   * @since 3.2.0
+   */
+  ReaderManagerAdapter getReaderManager() {
+    return readerManager;
+  }
+
+  /**
+   * Gets the pool plugin which allocated the reader of the card resource.
+   *
+   * @return Null if the card resource is provided by a "regular" plugin.
+   * @since 3.2.0
+   */
+  PoolPlugin getPoolPlugin() {
+    return poolPlugin;
+  }
+
+  /**
+   * Gets the card profile manager which allocated the card resource.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  CardProfileManagerAdapter getCardProfileManager() {
+    return cardProfileManager;
+  }
+
+  /**
+   * Gets the usage statistics of the card resource.
+   *
+   * @return Null if unavailable.
+   * @since 3.2.0
+   */
+  CardResourceUsageAdapter getCardResourceUsage() {
+    return cardResourceUsage;
+  }
+
+  /**
+   * Gets the usage timeout of the lease.
+   *
+   * @return 0 if no timeout is set.
+   * @since 3.2.0
+   */
+  int getUsageTimeoutMillis() {
+    return usageTimeoutMillis;
+  }
+
+  /**
+   * Gets the creation time of the lease.
+   *
+   * @return A time in milliseconds.
+   * @since 3.2.0
+   */
+  long getCreationTimeMillis() {
+    return creationTimeMillis;
+  }
+
+  /**
+   * Gets the time after which the usage timeout of the lease is exceeded.
+   *
+   * @return A time in milliseconds, {@link Long#MAX_VALUE} if no timeout is set.
+   * @since 3.2.0
+   */
+  long getExpirationTimeMillis() {
+    return expirationTimeMillis;
+  }
+
+  /**
+   * Sets the usage timeout of the lease, starting from the provided time.
+   *
+   * <p>The lease must not be tracked by the expiration set of the service while its expiration
+   * time is changed.
+   *
+   * @param usageTimeoutMillis The usage timeout (0 for infinite).
+   * @param nowMillis The start time of the usage timeout.
+   * @since 3.2.0
+   */
+  void setUsageTimeout(int usageTimeoutMillis, long nowMillis) {
+    this.usageTimeoutMillis = usageTimeoutMillis;
+    expirationTimeMillis =
+        usageTimeoutMillis != 0 ? nowMillis + usageTimeoutMillis : Long.MAX_VALUE;
+  }
+
+  /**
+   * Gets the name of the thread which requested the card resource.
+   *
+   * @return A not null string.
+   * @since 3.2.0
+   */
+  String getHolderThreadName() {
+    return holderThreadName;
+  }
+
+  /**
+   * Sets the name of the thread which requested the card resource, when the lease has been created
+   * by another thread on its behalf.
+   *
+   * @param holderThreadName The name of the requesting thread.
+   * @since 3.2.0
+   */
+  void setHolderThreadName(String holderThreadName) {
+    this.holderThreadName = holderThreadName;
+  }
+
+  /**
+   * Indicates if the usage timeout of the lease is exceeded.
+   *
+   * @param nowMillis The current time.
+   * @return True if a usage timeout is set and exceeded.
+   * @since 3.2.0
+   */
+  boolean isExpired(long nowMillis) {
+    return nowMillis >= expirationTimeMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResource getCardResource() {
+    return cardResource;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getStamp() {
+    return stamp;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public boolean isValid() {
+    return readerManager != null
+        ? readerManager.isLockedBy(this)
+        : CardResourceServiceAdapter.getInstance().isPoolCardResourceLeasedBy(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public boolean release() {
+    return CardResourceServiceAdapter.getInstance().releaseCardResourceLease(this, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public void close() {
+    CardResourceServiceAdapter.getInstance().releaseCardResourceLease(this, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public boolean renew() {
+    return CardResourceServiceAdapter.getInstance()
+        .renewCardResourceLease(this, usageTimeoutMillis);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public boolean renew(long usageTimeout, TimeUnit unit) {
+    Assert.getInstance()
+        .notNull(unit, "unit")
+        .isTrue(usageTimeout >= 0, "usageTimeout >= 0");
+    int usageTimeoutMillis =
+        usageTimeout > 0
+            ? (int) Math.min(Math.max(1, unit.toMillis(usageTimeout)), Integer.MAX_VALUE)
+            : 0;
+    return CardResourceServiceAdapter.getInstance()
+        .renewCardResourceLease(this, usageTimeoutMillis);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardReader getReader() {
+    return cardResource.getReader();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public KeypleReaderExtension getReaderExtension() {
+    return cardResource.getReaderExtension();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public SmartCard getSmartCard() {
+    return cardResource.getSmartCard();
+  }
+
+  /**
+   * Provides a string representation of the lease.
+   *
+   * @return A non-null string.
+   * @since 3.2.0
+   */
+  @Override
+  public String toString() {
+    return "CardResourceLeaseAdapter{"
+        + "stamp="
+        + stamp
+        + ", cardResource="
+        + cardResource
+        + ", creationTimeMillis="
+        + creationTimeMillis
+        + ", usageTimeoutMillis="
+        + usageTimeoutMillis
+        + ", holderThreadName='"
+        + holderThreadName
+        + '\''
+        + '}';
+  }
+}
@@ -16,6 +16,8 @@
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import org.eclipse.keyple.core.service.Plugin;
+import org.eclipse.keyple.core.service.resource.PluginsConfigurator.AllocationStrategy;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceAllocationStrategySpi;
 import org.eclipse.keyple.core.service.resource.spi.CardResourceProfileExtension;
 import org.eclipse.keyple.core.util.Assert;
 
@@ -31,6 +33,12 @@ public final class CardResourceProfileConfigurator {
   private final List<Plugin> plugins;
   private final String readerNameRegex;
   private final String readerGroupReference;
+  private final AllocationStrategy allocationStrategy;
+  private final CardResourceAllocationStrategySpi allocationStrategySpi;
+  private final Integer usageTimeoutMillis;
+  private final Boolean isBlockingAllocationMode;
+  private final int cycleDurationMillis;
+  private final int timeoutMillis;
 
   private CardResourceProfileConfigurator(Builder builder) {
     profileName = builder.profileName;
@@ -38,6 +46,12 @@ private CardResourceProfileConfigurator(Builder builder) {
     plugins = builder.plugins;
     readerNameRegex = builder.readerNameRegex;
     readerGroupReference = builder.readerGroupReference;
+    allocationStrategy = builder.allocationStrategy;
+    allocationStrategySpi = builder.allocationStrategySpi;
+    usageTimeoutMillis = builder.usageTimeoutMillis;
+    isBlockingAllocationMode = builder.isBlockingAllocationMode;
+    cycleDurationMillis = builder.cycleDurationMillis;
+    timeoutMillis = builder.timeoutMillis;
   }
 
   /**
@@ -93,6 +107,67 @@ String getReaderGroupReference() {
     return readerGroupReference;
   }
 
+  /**
+   * Gets the allocation strategy of the profile.
+   *
+   * @return Null if the global allocation strategy must be used.
+   * @since 3.2.0
+   */
+  AllocationStrategy getAllocationStrategy() {
+    return allocationStrategy;
+  }
+
+  /**
+   * Gets the custom or built-in allocation strategy of the profile to use instead of the basic
+   * ones.
+   *
+   * @return Null if no allocation strategy is set or if it is a basic one.
+   * @since 3.2.0
+   */
+  CardResourceAllocationStrategySpi getAllocationStrategySpi() {
+    return allocationStrategySpi;
+  }
+
+  /**
+   * Gets the usage timeout of the profile.
+   *
+   * @return Null if the global usage timeout must be used, 0 if no timeout is set.
+   * @since 3.2.0
+   */
+  Integer getUsageTimeoutMillis() {
+    return usageTimeoutMillis;
+  }
+
+  /**
+   * Indicates if the allocation requests of the profile are blocking.
+   *
+   * @return Null if the global allocation mode must be used.
+   * @since 3.2.0
+   */
+  Boolean isBlockingAllocationMode() {
+    return isBlockingAllocationMode;
+  }
+
+  /**
+   * Gets the cycle duration of the blocking allocation mode of the profile.
+   *
+   * @return A positive int if the blocking allocation mode is set on the profile.
+   * @since 3.2.0
+   */
+  int getCycleDurationMillis() {
+    return cycleDurationMillis;
+  }
+
+  /**
+   * Gets the timeout of the blocking allocation mode of the profile.
+   *
+   * @return A positive int if the blocking allocation mode is set on the profile.
+   * @since 3.2.0
+   */
+  int getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
   /**
    * Gets the configurator's builder to use in order to create a new instance of a card resource
    * profile with the provided name and a card resource profile extension to handle specific card
@@ -123,6 +198,12 @@ public static final class Builder {
     private final List<Plugin> plugins;
     private String readerNameRegex;
     private String readerGroupReference;
+    private AllocationStrategy allocationStrategy;
+    private CardResourceAllocationStrategySpi allocationStrategySpi;
+    private Integer usageTimeoutMillis;
+    private Boolean isBlockingAllocationMode;
+    private int cycleDurationMillis;
+    private int timeoutMillis;
 
     private Builder(String profileName, CardResourceProfileExtension cardResourceProfileExtension) {
       Assert.getInstance()
@@ -208,6 +289,107 @@ public Builder withReaderGroupReference(String readerGroupReference) {
       return this;
     }
 
+    /**
+     * Specifies the allocation strategy to perform when a card resource of the profile is
+     * requested, overriding the one defined by {@link PluginsConfigurator}.
+     *
+     * @param allocationStrategy The {@link AllocationStrategy} to use.
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the provided strategy is null.
+     * @throws IllegalStateException If the strategy has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withAllocationStrategy(AllocationStrategy allocationStrategy) {
+      Assert.getInstance().notNull(allocationStrategy, "allocationStrategy");
+      if (this.allocationStrategy != null || allocationStrategySpi != null) {
+        throw new IllegalStateException("Allocation strategy already configured");
+      }
+      this.allocationStrategy = allocationStrategy;
+      return this;
+    }
+
+    /**
+     * Specifies a custom allocation strategy to perform when a card resource of the profile is
+     * requested, overriding the one defined by {@link PluginsConfigurator}.
+     *
+     * @param allocationStrategySpi The {@link CardResourceAllocationStrategySpi} to use.
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the provided strategy is null.
+     * @throws IllegalStateException If the strategy has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withAllocationStrategy(CardResourceAllocationStrategySpi allocationStrategySpi) {
+      Assert.getInstance().notNull(allocationStrategySpi, "allocationStrategySpi");
+      if (allocationStrategy != null || this.allocationStrategySpi != null) {
+        throw new IllegalStateException("Allocation strategy already configured");
+      }
+      this.allocationStrategySpi = allocationStrategySpi;
+      return this;
+    }
+
+    /**
+     * Specifies the timeout to use after that a card resource allocated for the profile can be
+     * automatically re-allocated by card resource service to a new thread if requested, overriding
+     * the one defined by {@link PluginsConfigurator}.
+     *
+     * @param usageTimeoutMillis The max usage duration of a card resource (in milliseconds).
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the provided value is less or equal to 0.
+     * @throws IllegalStateException If the timeout has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withUsageTimeout(int usageTimeoutMillis) {
+      Assert.getInstance().greaterOrEqual(usageTimeoutMillis, 1, "usageTimeoutMillis");
+      if (this.usageTimeoutMillis != null) {
+        throw new IllegalStateException("Usage timeout already configured");
+      }
+      this.usageTimeoutMillis = usageTimeoutMillis;
+      return this;
+    }
+
+    /**
+     * Configures the allocation requests of the profile to be blocking, overriding the global
+     * allocation mode.
+     *
+     * <p>See {@link CardResourceServiceConfigurator#withBlockingAllocationMode(int, int)} for the
+     * meaning of the parameters.
+     *
+     * @param cycleDurationMillis The fallback re-check period (in milliseconds).
+     * @param timeoutMillis The max awaiting time (in milliseconds).
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If one of the provided values is less or equal to 0.
+     * @throws IllegalStateException If the allocation mode has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withBlockingAllocationMode(int cycleDurationMillis, int timeoutMillis) {
+      Assert.getInstance()
+          .greaterOrEqual(cycleDurationMillis, 1, "cycleDurationMillis")
+          .greaterOrEqual(timeoutMillis, 1, "timeoutMillis");
+      if (isBlockingAllocationMode != null) {
+        throw new IllegalStateException("Allocation mode already configured");
+      }
+      isBlockingAllocationMode = true;
+      this.cycleDurationMillis = cycleDurationMillis;
+      this.timeoutMillis = timeoutMillis;
+      return this;
+    }
+
+    /**
+     * Configures the allocation requests of the profile to be non-blocking, overriding the global
+     * allocation mode.
+     *
+     * @return The current builder instance.
+     * @throws IllegalStateException If the allocation mode has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withNonBlockingAllocationMode() {
+      if (isBlockingAllocationMode != null) {
+        throw new IllegalStateException("Allocation mode already configured");
+      }
+      isBlockingAllocationMode = false;
+      return this;
+    }
+
     /**
      * Creates a new instance of {@link CardResourceProfileConfigurator} using the current
      * configuration.
@@ -216,6 +398,9 @@ public Builder withReaderGroupReference(String readerGroupReference) {
      * @since 2.0.0
      */
     public CardResourceProfileConfigurator build() {
+      if (allocationStrategy != null) {
+        allocationStrategySpi = UsageBasedAllocationStrategyAdapter.getInstance(allocationStrategy);
+      }
       return new CardResourceProfileConfigurator(this);
     }
   }
@@ -0,0 +1,128 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+/**
+ * Live view of the allocation statistics of a card resource profile.
+ *
+ * <p>The values are updated by the card resource service as long as the profile is configured and
+ * the service started.
+ *
+ * @since 3.2.0
+ */
+public interface CardResourceProfileStatistics {
+
+  /**
+   * Returns the number of allocation requests currently waiting for a card resource.
+   *
+   * @return A positive int.
+   * @since 3.2.0
+   */
+  int getWaitingRequestCount();
+
+  /**
+   * Returns the highest number of allocation requests simultaneously waiting for a card resource.
+   *
+   * @return A positive int.
+   * @since 3.2.0
+   */
+  int getMaxWaitingRequestCount();
+
+  /**
+   * Returns the number of allocation requests that have finished waiting, whether a card resource
+   * has been obtained or not.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getWaitedRequestCount();
+
+  /**
+   * Returns the number of allocation requests that have finished waiting without obtaining a card
+   * resource.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getTimedOutRequestCount();
+
+  /**
+   * Returns the cumulated time spent waiting by the allocation requests that have finished waiting.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getTotalWaitingTimeMillis();
+
+  /**
+   * Returns the longest time spent waiting by an allocation request.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getMaxWaitingTimeMillis();
+
+  /**
+   * Returns the number of card resources reclaimed by the service because their usage timeout was
+   * exceeded before they were released, which usually reveals a leak in the application.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getReclaimedLeaseCount();
+
+  /**
+   * Returns the number of card resources currently allocated from "pool" plugins and not yet
+   * released nor reclaimed.
+   *
+   * @return A positive int.
+   * @since 3.2.0
+   */
+  int getPoolLeaseCount();
+
+  /**
+   * Returns the number of allocations for which the selection of the card has been skipped because
+   * the allocated card resource was the current selected one and its selection was still valid.
+   *
+   * @return A positive long, always 0 if the selection cache is disabled.
+   * @since 3.2.0
+   */
+  long getSelectionCacheHitCount();
+
+  /**
+   * Returns the number of allocations for which the card has been selected again because the
+   * allocated card resource was not the current selected one or its selection was no longer valid.
+   *
+   * @return A positive long, always 0 if the selection cache is disabled.
+   * @since 3.2.0
+   */
+  long getSelectionCacheMissCount();
+
+  /**
+   * Returns the number of allocations for which a card resource already selected in its reader has
+   * been preferred to the one designated by the allocation strategy, thus avoiding to switch the
+   * selected application of a reader shared by several profiles.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getAvoidedSelectionSwitchCount();
+
+  /**
+   * Returns the number of card resources currently kept pre-allocated in the warm reserve of the
+   * profile, including those kept during the linger time.
+   *
+   * @return A positive int, always 0 if no warm reserve is configured.
+   * @since 3.2.0
+   */
+  int getWarmReserveCount();
+}
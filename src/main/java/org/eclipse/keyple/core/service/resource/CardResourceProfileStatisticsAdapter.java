@@ -0,0 +1,302 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapter of {@link CardResourceProfileStatistics}.
+ *
+ * <p>It collects the statistics of a card profile manager in a thread safe way.
+ *
+ * @since 3.2.0
+ */
+final class CardResourceProfileStatisticsAdapter implements CardResourceProfileStatistics {
+
+  private final AtomicInteger waitingRequestCount = new AtomicInteger();
+  private final AtomicInteger maxWaitingRequestCount = new AtomicInteger();
+  private final AtomicLong waitedRequestCount = new AtomicLong();
+  private final AtomicLong timedOutRequestCount = new AtomicLong();
+  private final AtomicLong totalWaitingTimeNanos = new AtomicLong();
+  private final AtomicLong maxWaitingTimeNanos = new AtomicLong();
+  private final AtomicLong reclaimedLeaseCount = new AtomicLong();
+  private final AtomicInteger poolLeaseCount = new AtomicInteger();
+  private final AtomicLong selectionCacheHitCount = new AtomicLong();
+  private final AtomicLong selectionCacheMissCount = new AtomicLong();
+  private final AtomicLong avoidedSelectionSwitchCount = new AtomicLong();
+  private final AtomicInteger warmReserveCount = new AtomicInteger();
+
+  /**
+   * Records the beginning of the wait of an allocation request.
+   *
+   * @since 3.2.0
+   */
+  void onWaitStarted() {
+    int count = waitingRequestCount.incrementAndGet();
+    int max;
+    do {
+      max = maxWaitingRequestCount.get();
+    } while (count > max && !maxWaitingRequestCount.compareAndSet(max, count));
+  }
+
+  /**
+   * Records the end of the wait of an allocation request.
+   *
+   * @param waitingTimeNanos The time spent waiting (in nanoseconds).
+   * @param isServed True if a card resource has been obtained.
+   * @since 3.2.0
+   */
+  void onWaitEnded(long waitingTimeNanos, boolean isServed) {
+    waitingRequestCount.decrementAndGet();
+    waitedRequestCount.incrementAndGet();
+    if (!isServed) {
+      timedOutRequestCount.incrementAndGet();
+    }
+    totalWaitingTimeNanos.addAndGet(waitingTimeNanos);
+    long max;
+    do {
+      max = maxWaitingTimeNanos.get();
+    } while (waitingTimeNanos > max && !maxWaitingTimeNanos.compareAndSet(max, waitingTimeNanos));
+  }
+
+  /**
+   * Records the reclamation of a card resource whose usage timeout was exceeded.
+   *
+   * @since 3.2.0
+   */
+  void onLeaseReclaimed() {
+    reclaimedLeaseCount.incrementAndGet();
+  }
+
+  /**
+   * Records the allocation of a card resource from a "pool" plugin.
+   *
+   * @since 3.2.0
+   */
+  void onPoolLeaseStarted() {
+    poolLeaseCount.incrementAndGet();
+  }
+
+  /**
+   * Records the release or the reclamation of a card resource allocated from a "pool" plugin.
+   *
+   * @since 3.2.0
+   */
+  void onPoolLeaseEnded() {
+    poolLeaseCount.decrementAndGet();
+  }
+
+  /**
+   * Records an allocation for which the cached selection of the card has been used.
+   *
+   * @since 3.2.0
+   */
+  void onSelectionCacheHit() {
+    selectionCacheHitCount.incrementAndGet();
+  }
+
+  /**
+   * Records an allocation for which the card has been selected again despite the selection cache.
+   *
+   * @since 3.2.0
+   */
+  void onSelectionCacheMiss() {
+    selectionCacheMissCount.incrementAndGet();
+  }
+
+  /**
+   * Records an allocation for which a card resource already selected in its reader has been
+   * preferred.
+   *
+   * @since 3.2.0
+   */
+  void onSelectionSwitchAvoided() {
+    avoidedSelectionSwitchCount.incrementAndGet();
+  }
+
+  /**
+   * Records the addition of a card resource to the warm reserve.
+   *
+   * @since 3.2.0
+   */
+  void onWarmReserveCardResourceAdded() {
+    warmReserveCount.incrementAndGet();
+  }
+
+  /**
+   * Records the removal of a card resource from the warm reserve, whether allocated or released
+   * to its "pool" plugin.
+   *
+   * @since 3.2.0
+   */
+  void onWarmReserveCardResourceRemoved() {
+    warmReserveCount.decrementAndGet();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public int getWaitingRequestCount() {
+    return waitingRequestCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public int getMaxWaitingRequestCount() {
+    return maxWaitingRequestCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getWaitedRequestCount() {
+    return waitedRequestCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getTimedOutRequestCount() {
+    return timedOutRequestCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getTotalWaitingTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalWaitingTimeNanos.get());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getMaxWaitingTimeMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxWaitingTimeNanos.get());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getReclaimedLeaseCount() {
+    return reclaimedLeaseCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public int getPoolLeaseCount() {
+    return poolLeaseCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getSelectionCacheHitCount() {
+    return selectionCacheHitCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getSelectionCacheMissCount() {
+    return selectionCacheMissCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getAvoidedSelectionSwitchCount() {
+    return avoidedSelectionSwitchCount.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public int getWarmReserveCount() {
+    return warmReserveCount.get();
+  }
+
+  /**
+   * Provides a string representation of the statistics.
+   *
+   * @return A non-null string.
+   * @since 3.2.0
+   */
+  @Override
+  public String toString() {
+    return "CardResourceProfileStatisticsAdapter{"
+        + "waitingRequestCount="
+        + getWaitingRequestCount()
+        + ", maxWaitingRequestCount="
+        + getMaxWaitingRequestCount()
+        + ", waitedRequestCount="
+        + getWaitedRequestCount()
+        + ", timedOutRequestCount="
+        + getTimedOutRequestCount()
+        + ", totalWaitingTimeMillis="
+        + getTotalWaitingTimeMillis()
+        + ", maxWaitingTimeMillis="
+        + getMaxWaitingTimeMillis()
+        + ", reclaimedLeaseCount="
+        + getReclaimedLeaseCount()
+        + ", poolLeaseCount="
+        + getPoolLeaseCount()
+        + ", selectionCacheHitCount="
+        + getSelectionCacheHitCount()
+        + ", selectionCacheMissCount="
+        + getSelectionCacheMissCount()
+        + ", avoidedSelectionSwitchCount="
+        + getAvoidedSelectionSwitchCount()
+        + ", warmReserveCount="
+        + getWarmReserveCount()
+        + '}';
+  }
+}
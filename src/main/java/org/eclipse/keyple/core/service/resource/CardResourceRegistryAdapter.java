@@ -0,0 +1,299 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.keypop.reader.CardReader;
+
+/**
+ * Registry of the reader managers, of the card profile managers and of the card profile managers
+ * referencing each card resource of the card resource service.
+ *
+ * <p>The readers are indexed both by reference and by name, so that the plugin and reader events,
+ * which only provide reader names, are dispatched without scanning all registered readers. The card
+ * resources are indexed to the card profile managers referencing them, so that removing a card
+ * resource only involves these card profile managers.
+ *
+ * <p>Each card profile manager is registered at an index, and each reader manager holds the bitset
+ * of the indexes of the card profile managers handling its reader, computed once when the reader
+ * or the card profile manager is registered, so that the events of a reader are only dispatched to
+ * the card profile managers eligible for it.
+ *
+ * <p>The lookups are lock-free. The registrations update the indexes and the eligibility bitsets
+ * under the lock of the registry, and each card resource entry is updated atomically, so that the
+ * indexes remain consistent when events are processed concurrently.
+ *
+ * @since 3.2.0
+ */
+final class CardResourceRegistryAdapter {
+
+  /** Map an accepted reader of a "regular" plugin to a reader manager. */
+  private final Map<CardReader, ReaderManagerAdapter> readerToReaderManagerMap =
+      new ConcurrentHashMap<>();
+
+  /** Map the name of an accepted reader of a "regular" plugin to a reader manager. */
+  private final Map<String, ReaderManagerAdapter> readerNameToReaderManagerMap =
+      new ConcurrentHashMap<>();
+
+  /**
+   * The registered card profile managers at their index, null for a free index (never modified
+   * once set, replaced on each update).
+   */
+  private volatile CardProfileManagerAdapter[] cardProfileManagers =
+      new CardProfileManagerAdapter[0];
+
+  /**
+   * Map a card resource of a "regular" plugin to the card profile managers referencing it.<br>
+   * The sets are never modified once mapped, they are replaced on each update.
+   */
+  private final Map<CardResource, Set<CardProfileManagerAdapter>>
+      cardResourceToCardProfileManagersMap = new ConcurrentHashMap<>();
+
+  /**
+   * Registers the provided reader manager, replacing the one previously registered for the same
+   * reader if any.
+   *
+   * @param readerManager The reader manager to register.
+   * @since 3.2.0
+   */
+  synchronized void registerReaderManager(ReaderManagerAdapter readerManager) {
+    BitSet eligibleCardProfileManagerIndexes = new BitSet(cardProfileManagers.length);
+    for (int i = 0; i < cardProfileManagers.length; i++) {
+      if (cardProfileManagers[i] != null && cardProfileManagers[i].isReaderHandled(readerManager)) {
+        eligibleCardProfileManagerIndexes.set(i);
+      }
+    }
+    readerManager.setEligibleCardProfileManagerIndexes(eligibleCardProfileManagerIndexes);
+    CardReader reader = readerManager.getReader();
+    readerToReaderManagerMap.put(reader, readerManager);
+    readerNameToReaderManagerMap.put(reader.getName(), readerManager);
+  }
+
+  /**
+   * Unregisters the reader manager associated to the provided reader if any.
+   *
+   * @param reader The reader to unregister.
+   * @return The unregistered reader manager, null if none.
+   * @since 3.2.0
+   */
+  synchronized ReaderManagerAdapter unregisterReaderManager(CardReader reader) {
+    ReaderManagerAdapter readerManager = readerToReaderManagerMap.remove(reader);
+    if (readerManager != null) {
+      readerNameToReaderManagerMap.remove(reader.getName(), readerManager);
+    }
+    return readerManager;
+  }
+
+  /**
+   * Gets the reader manager associated to the provided reader.
+   *
+   * @param reader The associated reader.
+   * @return Null if the reader is not registered.
+   * @since 3.2.0
+   */
+  ReaderManagerAdapter getReaderManager(CardReader reader) {
+    return readerToReaderManagerMap.get(reader);
+  }
+
+  /**
+   * Gets the reader manager associated to the reader having the provided name.
+   *
+   * @param readerName The name of the reader.
+   * @return Null if the reader is not or no longer registered.
+   * @since 3.2.0
+   */
+  ReaderManagerAdapter getReaderManager(String readerName) {
+    return readerNameToReaderManagerMap.get(readerName);
+  }
+
+  /**
+   * Indicates if the provided reader is registered.
+   *
+   * @param reader The reader.
+   * @return True if a reader manager is associated to the reader.
+   * @since 3.2.0
+   */
+  boolean isReaderRegistered(CardReader reader) {
+    return readerToReaderManagerMap.containsKey(reader);
+  }
+
+  /**
+   * Gets the registered reader managers.
+   *
+   * @return A not null view, weakly consistent in case of concurrent registrations.
+   * @since 3.2.0
+   */
+  Collection<ReaderManagerAdapter> getReaderManagers() {
+    return readerToReaderManagerMap.values();
+  }
+
+  /**
+   * Registers the provided card profile manager at the first free index and marks it as eligible
+   * for the registered readers it handles.
+   *
+   * @param cardProfileManager The card profile manager to register.
+   * @since 3.2.0
+   */
+  synchronized void registerCardProfileManager(CardProfileManagerAdapter cardProfileManager) {
+    int index = 0;
+    while (index < cardProfileManagers.length && cardProfileManagers[index] != null) {
+      index++;
+    }
+    for (ReaderManagerAdapter readerManager : readerToReaderManagerMap.values()) {
+      if (cardProfileManager.isReaderHandled(readerManager)) {
+        updateEligibility(readerManager, index, true);
+      }
+    }
+    CardProfileManagerAdapter[] newCardProfileManagers =
+        Arrays.copyOf(cardProfileManagers, Math.max(cardProfileManagers.length, index + 1));
+    newCardProfileManagers[index] = cardProfileManager;
+    cardProfileManagers = newCardProfileManagers;
+  }
+
+  /**
+   * Unregisters the provided card profile manager, making its index free, if it is registered.
+   *
+   * @param cardProfileManager The card profile manager to unregister.
+   * @since 3.2.0
+   */
+  synchronized void unregisterCardProfileManager(CardProfileManagerAdapter cardProfileManager) {
+    for (int index = 0; index < cardProfileManagers.length; index++) {
+      if (cardProfileManagers[index] == cardProfileManager) {
+        CardProfileManagerAdapter[] newCardProfileManagers = cardProfileManagers.clone();
+        newCardProfileManagers[index] = null;
+        cardProfileManagers = newCardProfileManagers;
+        for (ReaderManagerAdapter readerManager : readerToReaderManagerMap.values()) {
+          updateEligibility(readerManager, index, false);
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Replaces the eligibility bitset of the provided reader manager if the eligibility of the card
+   * profile manager at the provided index changes.
+   *
+   * @param readerManager The reader manager.
+   * @param index The index of the card profile manager.
+   * @param isEligible True if the card profile manager handles the reader.
+   */
+  private static void updateEligibility(
+      ReaderManagerAdapter readerManager, int index, boolean isEligible) {
+    BitSet eligibleCardProfileManagerIndexes = readerManager.getEligibleCardProfileManagerIndexes();
+    if (eligibleCardProfileManagerIndexes.get(index) != isEligible) {
+      BitSet newEligibleIndexes = (BitSet) eligibleCardProfileManagerIndexes.clone();
+      newEligibleIndexes.set(index, isEligible);
+      readerManager.setEligibleCardProfileManagerIndexes(newEligibleIndexes);
+    }
+  }
+
+  /**
+   * Gets the registered card profile managers handling the reader of the provided reader manager,
+   * in the order of their index.
+   *
+   * @param readerManager The reader manager.
+   * @return A not null list.
+   * @since 3.2.0
+   */
+  List<CardProfileManagerAdapter> getEligibleCardProfileManagers(
+      ReaderManagerAdapter readerManager) {
+    CardProfileManagerAdapter[] registeredCardProfileManagers = cardProfileManagers;
+    BitSet eligibleCardProfileManagerIndexes = readerManager.getEligibleCardProfileManagerIndexes();
+    List<CardProfileManagerAdapter> eligibleCardProfileManagers =
+        new ArrayList<>(eligibleCardProfileManagerIndexes.cardinality());
+    for (int index = eligibleCardProfileManagerIndexes.nextSetBit(0);
+        index >= 0 && index < registeredCardProfileManagers.length;
+        index = eligibleCardProfileManagerIndexes.nextSetBit(index + 1)) {
+      if (registeredCardProfileManagers[index] != null) {
+        eligibleCardProfileManagers.add(registeredCardProfileManagers[index]);
+      }
+    }
+    return eligibleCardProfileManagers;
+  }
+
+  /**
+   * References the provided card profile manager as using the provided card resource.
+   *
+   * @param cardResource The card resource.
+   * @param cardProfileManager The card profile manager.
+   * @since 3.2.0
+   */
+  void addCardProfileManager(
+      CardResource cardResource, CardProfileManagerAdapter cardProfileManager) {
+    cardResourceToCardProfileManagersMap.compute(
+        cardResource,
+        (key, cardProfileManagers) -> {
+          if (cardProfileManagers == null) {
+            return Collections.singleton(cardProfileManager);
+          }
+          if (cardProfileManagers.contains(cardProfileManager)) {
+            return cardProfileManagers;
+          }
+          Set<CardProfileManagerAdapter> newCardProfileManagers =
+              new HashSet<>(cardProfileManagers);
+          newCardProfileManagers.add(cardProfileManager);
+          return Collections.unmodifiableSet(newCardProfileManagers);
+        });
+  }
+
+  /**
+   * Removes the reference of the provided card profile manager to the provided card resource.
+   *
+   * @param cardResource The card resource.
+   * @param cardProfileManager The card profile manager.
+   * @since 3.2.0
+   */
+  void removeCardProfileManager(
+      CardResource cardResource, CardProfileManagerAdapter cardProfileManager) {
+    cardResourceToCardProfileManagersMap.computeIfPresent(
+        cardResource,
+        (key, cardProfileManagers) -> {
+          if (!cardProfileManagers.contains(cardProfileManager)) {
+            return cardProfileManagers;
+          }
+          if (cardProfileManagers.size() == 1) {
+            return null;
+          }
+          Set<CardProfileManagerAdapter> newCardProfileManagers =
+              new HashSet<>(cardProfileManagers);
+          newCardProfileManagers.remove(cardProfileManager);
+          return Collections.unmodifiableSet(newCardProfileManagers);
+        });
+  }
+
+  /**
+   * Gets the card profile managers referencing the provided card resource.
+   *
+   * @param cardResource The card resource.
+   * @return A not null unmodifiable set, empty if the card resource is not referenced.
+   * @since 3.2.0
+   */
+  Set<CardProfileManagerAdapter> getCardProfileManagers(CardResource cardResource) {
+    Set<CardProfileManagerAdapter> cardProfileManagers =
+        cardResourceToCardProfileManagersMap.get(cardResource);
+    return cardProfileManagers != null ? cardProfileManagers : Collections.emptySet();
+  }
+
+  /**
+   * Removes all the registered reader managers, card profile managers and card resource references.
+   *
+   * @since 3.2.0
+   */
+  synchronized void clear() {
+    readerToReaderManagerMap.clear();
+    readerNameToReaderManagerMap.clear();
+    cardProfileManagers = new CardProfileManagerAdapter[0];
+    cardResourceToCardProfileManagersMap.clear();
+  }
+}
@@ -11,6 +11,10 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service.resource;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.service.ObservablePlugin;
 import org.eclipse.keyple.core.service.PoolPlugin;
 
@@ -65,6 +69,28 @@ public interface CardResourceService {
    */
   void stop();
 
+  /**
+   * Stops the service gracefully if it is started, letting the card resources in use be released
+   * before the provided deadline.
+   *
+   * <p>The new allocation requests are immediately refused with an {@link IllegalStateException},
+   * and the waiting ones are ended. Then the service waits until all the card resources in use are
+   * released (or reclaimed after their usage timeout) or the drain timeout is reached. The service
+   * is then stopped as with {@link #stop()}: all monitoring processes are stopped and the card
+   * resources still in use are released.
+   *
+   * @param drainTimeout The maximum amount of time to wait for the release of the card resources
+   *     in use, 0 to stop immediately.
+   * @param unit The time unit of the drain timeout.
+   * @return True if all the card resources in use have been released before the service was
+   *     stopped.
+   * @throws IllegalArgumentException If the drain timeout is negative or the unit is null.
+   * @throws InterruptedException If the calling thread is interrupted while waiting, in which case
+   *     the service is stopped immediately.
+   * @since 3.2.0
+   */
+  boolean stop(long drainTimeout, TimeUnit unit) throws InterruptedException;
+
   /**
    * Gets the first card resource available for the provided card resource profile name using the
    * configured allocation strategy.
@@ -72,6 +98,9 @@ public interface CardResourceService {
    * <p><u>Note</u> : The returned resource is then no longer available to other users until the
    * {@link #releaseCardResource(CardResource)} method is called or the service restarted.
    *
+   * <p>In blocking allocation mode, the wait stops when the calling thread is interrupted: null is
+   * returned and the interrupted status of the thread is kept.
+   *
    * @param cardResourceProfileName The name of the card resource profile.
    * @return Null if no card resource is available.
    * @throws IllegalArgumentException If the profile name is null, empty or not configured.
@@ -80,15 +109,188 @@ public interface CardResourceService {
    */
   CardResource getCardResource(String cardResourceProfileName);
 
+  /**
+   * Gets the first card resource available for the provided card resource profile name using the
+   * configured allocation strategy, waiting at most the provided timeout.
+   *
+   * <p>The provided timeout applies to this call only, whatever the allocation mode configured
+   * globally or for the profile. The waiting thread is woken up as soon as a card resource is
+   * available, the timeout is reached or the thread is interrupted.
+   *
+   * <p><u>Note</u> : The returned resource is then no longer available to other users until the
+   * {@link #releaseCardResource(CardResource)} method is called or the service restarted.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param timeout The maximum amount of time to wait for a card resource, 0 for a single attempt.
+   * @param unit The unit of the timeout.
+   * @return Null if no card resource is available before the timeout.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured, if the
+   *     timeout is negative or if the unit is null.
+   * @throws IllegalStateException If the service is not started or is stopped while waiting.
+   * @throws InterruptedException If the calling thread is interrupted before or while waiting.
+   * @since 3.2.0
+   */
+  CardResource getCardResource(String cardResourceProfileName, long timeout, TimeUnit unit)
+      throws InterruptedException;
+
+  /**
+   * Gets the first card resource available for the provided card resource profile name using the
+   * configured allocation strategy, waiting at most the provided timeout unless the provided
+   * cancellation handle is cancelled.
+   *
+   * <p>The behaviour is the same as {@link #getCardResource(String, long, TimeUnit)}, except that
+   * the call returns null as soon as the cancellation handle is cancelled.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param timeout The maximum amount of time to wait for a card resource, 0 for a single attempt.
+   * @param unit The unit of the timeout.
+   * @param cancellation The handle allowing to cancel the request.
+   * @return Null if no card resource is available before the timeout or if the request has been
+   *     cancelled.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured, if the
+   *     timeout is negative or if the unit or the cancellation handle is null.
+   * @throws IllegalStateException If the service is not started or is stopped while waiting.
+   * @throws InterruptedException If the calling thread is interrupted before or while waiting.
+   * @since 3.2.0
+   */
+  CardResource getCardResource(
+      String cardResourceProfileName,
+      long timeout,
+      TimeUnit unit,
+      CardResourceAllocationCancellation cancellation)
+      throws InterruptedException;
+
+  /**
+   * Gets a lease on the first card resource available for the provided card resource profile name
+   * using the configured allocation strategy.
+   *
+   * <p>The behaviour is the same as {@link #getCardResource(String)}, except that the returned
+   * lease identifies this allocation: releasing it with {@link CardResourceLease#release()} or
+   * {@link CardResourceLease#close()} has no effect once the card resource has been reclaimed and
+   * allocated to another user, for example after the expiration of its usage timeout.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return Null if no card resource is available.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  CardResourceLease getCardResourceLease(String cardResourceProfileName);
+
+  /**
+   * Gets a lease on the first card resource available for the provided card resource profile name
+   * using the configured allocation strategy, waiting at most the provided timeout.
+   *
+   * <p>The behaviour is the same as {@link #getCardResource(String, long, TimeUnit)}, except that
+   * a lease is returned (see {@link #getCardResourceLease(String)}).
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param timeout The maximum amount of time to wait for a card resource, 0 for a single attempt.
+   * @param unit The unit of the timeout.
+   * @return Null if no card resource is available before the timeout.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured, if the
+   *     timeout is negative or if the unit is null.
+   * @throws IllegalStateException If the service is not started or is stopped while waiting.
+   * @throws InterruptedException If the calling thread is interrupted before or while waiting.
+   * @since 3.2.0
+   */
+  CardResourceLease getCardResourceLease(
+      String cardResourceProfileName, long timeout, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Gets asynchronously the first card resource available for the provided card resource profile
+   * name using the configured allocation strategy.
+   *
+   * <p>The returned future is completed as soon as a card resource matching the profile is
+   * released, created following a card insertion or a reader connection. It remains pending as long
+   * as no card resource is available and can be cancelled at any time to abandon the request.
+   *
+   * <p>If the service is stopped, then the pending futures are completed exceptionally with an
+   * {@link IllegalStateException}.
+   *
+   * <p><u>Note</u> : Dependent actions may be executed by the thread releasing the card resource.
+   * The asynchronous variants of {@link CompletableFuture} should be used for long actions.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null future.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  CompletableFuture<CardResource> getCardResourceAsync(String cardResourceProfileName);
+
+  /**
+   * Gets asynchronously the first card resource available for the provided card resource profile
+   * name using the configured allocation strategy, within the provided deadline.
+   *
+   * <p>The behaviour is the same as {@link #getCardResourceAsync(String)}, except that the returned
+   * future is completed with null if no card resource is available before the deadline.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param timeout The maximum amount of time to wait for a card resource.
+   * @param unit The unit of the timeout.
+   * @return A not null future.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured, if the
+   *     timeout is less or equal to 0 or if the unit is null.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  CompletableFuture<CardResource> getCardResourceAsync(
+      String cardResourceProfileName, long timeout, TimeUnit unit);
+
+  /**
+   * Gets the requested number of card resources available for the provided card resource profile
+   * name using the configured allocation strategy, all or nothing.
+   *
+   * <p>The card resources are searched in a single pass. If the requested number of card resources
+   * is not available, then the card resources already obtained are released immediately and the
+   * search is retried as soon as a card resource becomes available, until the timeout is reached.
+   * No card resource is held while waiting, so that concurrent batch requests can not deadlock.
+   *
+   * <p><u>Note</u> : The returned resources are then no longer available to other users until the
+   * {@link #releaseCardResources(Collection)} method is called or the service restarted.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param count The number of card resources to get.
+   * @param timeout The maximum amount of time to wait for the card resources, 0 for a single
+   *     attempt.
+   * @param unit The unit of the timeout.
+   * @return An empty list if the requested number of card resources is not available.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured, if the
+   *     count is less than 1, if the timeout is negative or if the unit is null.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  List<CardResource> getCardResources(
+      String cardResourceProfileName, int count, long timeout, TimeUnit unit);
+
   /**
    * Releases the card resource to make it available to other users.
    *
+   * <p>The card resources provided by this service are {@link CardResourceLease} instances: such a
+   * card resource is released only if it is still the current lease of its card resource, so that a
+   * late release after a re-allocation following a usage timeout has no effect on the new holder.
+   *
+   * <p>Once the service is stopped, the card resources have already been released and nothing is
+   * done.
+   *
    * @param cardResource The card resource to release.
    * @throws IllegalArgumentException If the provided card resource is null.
    * @since 2.0.0
    */
   void releaseCardResource(CardResource cardResource);
 
+  /**
+   * Releases the provided card resources to make them available to other users.
+   *
+   * <p>Each card resource is released as by {@link #releaseCardResource(CardResource)}.
+   *
+   * @param cardResources The card resources to release.
+   * @throws IllegalArgumentException If the provided collection or one of its elements is null.
+   * @since 3.2.0
+   */
+  void releaseCardResources(Collection<CardResource> cardResources);
+
   /**
    * Removes the card resource and releases it if it is in use.
    *
@@ -97,4 +299,33 @@ public interface CardResourceService {
    * @since 2.0.0
    */
   void removeCardResource(CardResource cardResource);
+
+  /**
+   * Gets the allocation statistics of the provided card resource profile.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null live view of the statistics.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  CardResourceProfileStatistics getCardResourceProfileStatistics(String cardResourceProfileName);
+
+  /**
+   * Gets a future completed as soon as the provided card resource profile is ready, that is as soon
+   * as a first card resource of the profile is discovered, or once the discovery of the card
+   * resources is completed if the profile has none.
+   *
+   * <p>Unless a progressive start is configured (see {@link
+   * CardResourceServiceConfigurator#withProgressiveStart()}), the profiles are ready as soon as the
+   * service is started.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null future, completed exceptionally with an {@link IllegalStateException} if the
+   *     service is stopped before the profile is ready.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started.
+   * @since 3.2.0
+   */
+  CompletableFuture<Void> getCardResourceProfileReadiness(String cardResourceProfileName);
 }
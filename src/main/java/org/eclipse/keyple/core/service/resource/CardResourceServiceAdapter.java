@@ -14,14 +14,33 @@
 import static org.eclipse.keyple.core.service.resource.PluginsConfigurator.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.keyple.core.service.*;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceProfileExtension;
 import org.eclipse.keyple.core.service.resource.spi.ReaderConfiguratorSpi;
 import org.eclipse.keyple.core.service.spi.PluginObserverSpi;
 import org.eclipse.keyple.core.util.Assert;
 import org.eclipse.keypop.reader.CardReader;
 import org.eclipse.keypop.reader.CardReaderEvent;
 import org.eclipse.keypop.reader.ObservableCardReader;
+import org.eclipse.keypop.reader.selection.ScheduledCardSelectionsResponse;
 import org.eclipse.keypop.reader.spi.CardReaderObserverSpi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,22 +58,45 @@
   /** Singleton instance */
   private static final CardResourceServiceAdapter INSTANCE = new CardResourceServiceAdapter();
 
-  /** Map an accepted reader of a "regular" plugin to a reader manager. */
-  private final Map<CardReader, ReaderManagerAdapter> readerToReaderManagerMap =
-      new ConcurrentHashMap<>();
+  /**
+   * The period of the retries of the analysis or of the removal of a reader locked during a
+   * reconfiguration.
+   */
+  private static final int LOCKED_READER_RETRY_PERIOD_MILLIS = 100;
+
+  /** The time after which an idle thread of the executor of the "pool" requests is terminated. */
+  private static final int POOL_ALLOCATION_THREAD_KEEP_ALIVE_MILLIS = 60000;
+
+  /** The registry of the accepted readers of the "regular" plugins and of their card resources. */
+  private final CardResourceRegistryAdapter registry = new CardResourceRegistryAdapter();
 
   /** Map a configured card profile name to a card profile manager. */
   private final Map<String, CardProfileManagerAdapter> cardProfileNameToCardProfileManagerMap =
       new ConcurrentHashMap<>();
 
   /**
-   * Map a card resource to a "pool plugin".<br>
+   * Map a card resource associated to a "pool plugin" to its lease.<br>
    * A card resource associated to a "pool plugin" is only present in this map for the time of its
    * use and is not referenced by any card profile manager.
    */
-  private final Map<CardResource, PoolPlugin> cardResourceToPoolPluginMap =
+  private final Map<CardResource, CardResourceLeaseAdapter> cardResourceToPoolLeaseMap =
       new ConcurrentHashMap<>();
 
+  /** The generator of the stamps of the card resource leases. */
+  private final AtomicLong leaseStampGenerator = new AtomicLong();
+
+  /** The leases having a usage timeout, ordered by expiration time. */
+  private final ConcurrentSkipListSet<CardResourceLeaseAdapter> expirableLeases =
+      new ConcurrentSkipListSet<>(
+          Comparator.comparingLong(CardResourceLeaseAdapter::getExpirationTimeMillis)
+              .thenComparingLong(CardResourceLeaseAdapter::getStamp));
+
+  /** The next scheduled run of the lease reaper, null if none (guarded by expirableLeases). */
+  private ScheduledFuture<?> leaseReaperTask;
+
+  /** The time of the next scheduled run of the lease reaper (guarded by expirableLeases). */
+  private long leaseReaperTimeMillis;
+
   /**
    * Map a "regular" plugin to its accepted observable readers referenced by at least one card
    * profile manager.<br>
@@ -64,11 +106,55 @@
       new ConcurrentHashMap<>();
 
   /** The current configuration. */
-  private CardResourceServiceConfiguratorAdapter configurator;
+  private volatile CardResourceServiceConfiguratorAdapter configurator;
+
+  /**
+   * The lock serialising the configuration changes (write lock) against the processing of the
+   * plugin and reader events and of the deferred reader tasks (read lock).
+   */
+  private final ReadWriteLock configurationLock = new ReentrantReadWriteLock();
+
+  /**
+   * The reader managers whose removal is postponed until their reader is unlocked, their card
+   * resources being already withdrawn from the card profile managers.
+   */
+  private final Set<ReaderManagerAdapter> readerManagersToRemove =
+      Collections.newSetFromMap(new ConcurrentHashMap<>());
 
   /** The current status of the card resource service. */
   private volatile boolean isStarted;
 
+  /** True while the service is stopping, possibly draining the card resources in use. */
+  private volatile boolean isStopping;
+
+  /** The monitor notified when a lease ends during a draining stop. */
+  private final Object drainMonitor = new Object();
+
+  /** The scheduler used for the deferred tasks (deadlines, periodic checks), active if started. */
+  private volatile ScheduledExecutorService scheduler;
+
+  /** The monitor guarding the executor of the requests to the "pool" plugins. */
+  private final Object poolAllocationMonitor = new Object();
+
+  /**
+   * The executor of the hedged allocations, of the refills of the warm reserves and of the
+   * re-checks of the availabilities from the "pool" plugins, created on first use, null if none
+   * (guarded by poolAllocationMonitor).
+   *
+   * <p>Its number of threads is bounded and it has no queue: the tasks rejected when it is
+   * saturated are performed sequentially by the requesting thread or skipped.
+   */
+  private ThreadPoolExecutor poolAllocationExecutor;
+
+  /** The monitor guarding the background discovery of the card resources. */
+  private final Object discoveryMonitor = new Object();
+
+  /**
+   * The executor of the background discovery of the card resources in progress (progressive start),
+   * null if none (guarded by discoveryMonitor).
+   */
+  private ExecutorService discoveryExecutor;
+
   /**
    * Gets the unique instance.
    *
@@ -98,25 +184,358 @@ static String getCardResourceInfo(CardResource cardResource) {
    * @since 2.0.0
    */
   ReaderManagerAdapter getReaderManager(CardReader reader) {
-    return readerToReaderManagerMap.get(reader);
+    return registry.getReaderManager(reader);
+  }
+
+  /**
+   * Gets the registry of the readers and card resources of the "regular" plugins.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  CardResourceRegistryAdapter getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Gets the configured card profile managers.
+   *
+   * @return A not null collection.
+   * @since 3.2.0
+   */
+  Collection<CardProfileManagerAdapter> getCardProfileManagers() {
+    return cardProfileNameToCardProfileManagerMap.values();
+  }
+
+  /**
+   * Gets the scheduler to use for the deferred tasks.
+   *
+   * @return A not null reference if the service is started.
+   * @since 3.2.0
+   */
+  ScheduledExecutorService getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Gets the executor to use for the hedged allocations, the warm reserves and the re-checks of the
+   * "pool" plugins, creating it on first use.
+   *
+   * <p>The executor rejects the tasks submitted when all its threads are busy.
+   *
+   * @return Null if the service is not started or starting, or if it is stopping.
+   * @since 3.2.0
+   */
+  ExecutorService getPoolAllocationExecutor() {
+    synchronized (poolAllocationMonitor) {
+      if (poolAllocationExecutor == null && scheduler != null && !isStopping) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threadCount = getPoolAllocationThreadCount();
+        poolAllocationExecutor =
+            new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                POOL_ALLOCATION_THREAD_KEEP_ALIVE_MILLIS,
+                TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                  Thread thread =
+                      new Thread(
+                          runnable,
+                          "keyple-card-resource-service-pool-allocation-"
+                              + threadIndex.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                });
+        poolAllocationExecutor.allowCoreThreadTimeOut(true);
+      }
+      return poolAllocationExecutor;
+    }
+  }
+
+  /**
+   * Gets the maximum number of threads of the executor of the requests to the "pool" plugins: for
+   * each profile, one hedged allocation requesting all the pool plugins at once, plus a refill of
+   * its warm reserve or a re-check.
+   *
+   * @return A strictly positive int.
+   */
+  private int getPoolAllocationThreadCount() {
+    return Math.max(
+        1,
+        (configurator.getPoolPlugins().size() + 1) * cardProfileNameToCardProfileManagerMap.size());
   }
 
   /**
-   * Associates a card resource to a "pool" plugin.
+   * Adjusts the number of threads of the executor of the requests to the "pool" plugins to the
+   * current configuration, if the executor is created.
+   */
+  private void resizePoolAllocationExecutor() {
+    synchronized (poolAllocationMonitor) {
+      if (poolAllocationExecutor == null) {
+        return;
+      }
+      int threadCount = getPoolAllocationThreadCount();
+      if (threadCount > poolAllocationExecutor.getMaximumPoolSize()) {
+        poolAllocationExecutor.setMaximumPoolSize(threadCount);
+        poolAllocationExecutor.setCorePoolSize(threadCount);
+      } else {
+        poolAllocationExecutor.setCorePoolSize(threadCount);
+        poolAllocationExecutor.setMaximumPoolSize(threadCount);
+      }
+    }
+  }
+
+  /**
+   * Registers the lease of a card resource associated to a "pool" plugin, and tracks its expiration
+   * if it has a usage timeout.
    *
-   * @param cardResource The card resource to register.
-   * @param poolPlugin The associated pool plugin.
+   * @param lease The lease of the card resource to register.
    * @since 2.0.0
    */
-  void registerPoolCardResource(CardResource cardResource, PoolPlugin poolPlugin) {
-    cardResourceToPoolPluginMap.put(cardResource, poolPlugin);
+  void registerPoolCardResource(CardResourceLeaseAdapter lease) {
+    cardResourceToPoolLeaseMap.put(lease.getCardResource(), lease);
+    lease.getCardProfileManager().getStatistics().onPoolLeaseStarted();
+    if (lease.getUsageTimeoutMillis() != 0) {
+      registerExpirableLease(lease);
+    }
+  }
+
+  /**
+   * Ends the provided lease of a card resource associated to a "pool" plugin and releases the
+   * reader to its "pool" plugin, unless the lease is stale.
+   *
+   * <p>If reusable, the card resource may be kept in the warm reserve of its card profile manager
+   * instead.
+   *
+   * @param lease The lease to end.
+   * @param isReusable False if the card resource may still be used by the holder of the lease.
+   * @return False if the lease is stale.
+   */
+  private boolean releasePoolCardResourceLease(CardResourceLeaseAdapter lease, boolean isReusable) {
+    if (!cardResourceToPoolLeaseMap.remove(lease.getCardResource(), lease)) {
+      return false;
+    }
+    onLeaseEnded(lease);
+    lease.getCardProfileManager().getStatistics().onPoolLeaseEnded();
+    if (!isReusable || !lease.getCardProfileManager().keepPoolCardResource(lease)) {
+      lease.getPoolPlugin().releaseReader(lease.getReader());
+    }
+    return true;
+  }
+
+  /**
+   * Indicates if the card resource of the provided lease associated to a "pool" plugin is still
+   * held by this lease.
+   *
+   * @param lease The lease.
+   * @return True if the lease is the current one of its card resource.
+   * @since 3.2.0
+   */
+  boolean isPoolCardResourceLeasedBy(CardResourceLeaseAdapter lease) {
+    return cardResourceToPoolLeaseMap.get(lease.getCardResource()) == lease;
+  }
+
+  /**
+   * Gets a new stamp for a card resource lease.
+   *
+   * @return A strictly positive long.
+   * @since 3.2.0
+   */
+  long nextLeaseStamp() {
+    return leaseStampGenerator.incrementAndGet();
+  }
+
+  /**
+   * Tracks the expiration of the provided lease so that its reader is reclaimed as soon as its
+   * usage timeout is exceeded.
+   *
+   * @param lease The lease having a usage timeout.
+   * @since 3.2.0
+   */
+  void registerExpirableLease(CardResourceLeaseAdapter lease) {
+    expirableLeases.add(lease);
+    scheduleLeaseReaper(lease.getExpirationTimeMillis());
+  }
+
+  /**
+   * Stops tracking the expiration of the provided ended lease and signals its end to the draining
+   * stop in progress, if any.
+   *
+   * @param lease The ended lease.
+   * @since 3.2.0
+   */
+  void onLeaseEnded(CardResourceLeaseAdapter lease) {
+    expirableLeases.remove(lease);
+    if (isStopping) {
+      synchronized (drainMonitor) {
+        drainMonitor.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Indicates if the service is started.
+   *
+   * @return True if the service is started.
+   * @since 3.2.0
+   */
+  boolean isStarted() {
+    return isStarted;
+  }
+
+  /**
+   * Indicates if the service is stopping, in which case the new allocation requests are refused.
+   *
+   * @return True if the service is stopping.
+   * @since 3.2.0
+   */
+  boolean isStopping() {
+    return isStopping;
+  }
+
+  /**
+   * Restarts the usage timeout of the provided lease from now with the provided value, unless the
+   * lease is stale or is being reclaimed.
+   *
+   * <p>The lease is removed from the expiration set while its expiration time is changed, which
+   * prevents the reaper from reclaiming it concurrently.
+   *
+   * @param lease The lease to renew.
+   * @param usageTimeoutMillis The new usage timeout (0 for infinite).
+   * @return False if the lease is stale, is being reclaimed or can not be renewed, or if the
+   *     service is not started.
+   * @since 3.2.0
+   */
+  boolean renewCardResourceLease(CardResourceLeaseAdapter lease, int usageTimeoutMillis) {
+    if (!isStarted || !lease.isValid()) {
+      return false;
+    }
+    if (!expirableLeases.remove(lease) && lease.getUsageTimeoutMillis() != 0) {
+      // Already taken by the reaper, or ended.
+      return false;
+    }
+    lease.setUsageTimeout(usageTimeoutMillis, System.currentTimeMillis());
+    if (usageTimeoutMillis != 0) {
+      registerExpirableLease(lease);
+    }
+    if (!lease.isValid()) {
+      // Ended concurrently.
+      expirableLeases.remove(lease);
+      return false;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resource lease renewed [lease={}]", lease);
+    }
+    return true;
+  }
+
+  /**
+   * Schedules the lease reaper at the provided time, unless it is already scheduled earlier.
+   *
+   * @param timeMillis The time at which the reaper must run.
+   */
+  private void scheduleLeaseReaper(long timeMillis) {
+    synchronized (expirableLeases) {
+      ScheduledExecutorService currentScheduler = scheduler;
+      if (currentScheduler == null
+          || (leaseReaperTask != null && leaseReaperTimeMillis <= timeMillis)) {
+        return;
+      }
+      if (leaseReaperTask != null) {
+        leaseReaperTask.cancel(false);
+      }
+      leaseReaperTimeMillis = timeMillis;
+      try {
+        leaseReaperTask =
+            currentScheduler.schedule(
+                this::reclaimExpiredLeases,
+                Math.max(0, timeMillis - System.currentTimeMillis()),
+                TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // The service is stopping.
+        leaseReaperTask = null;
+      }
+    }
+  }
+
+  /**
+   * Reclaims the readers of the leases whose usage timeout is exceeded, then schedules the next run
+   * at the expiration time of the first remaining lease.
+   */
+  private void reclaimExpiredLeases() {
+    synchronized (expirableLeases) {
+      leaseReaperTask = null;
+    }
+    long nowMillis = System.currentTimeMillis();
+    CardResourceLeaseAdapter lease;
+    while ((lease = getFirstExpirableLease()) != null && lease.isExpired(nowMillis)) {
+      if (expirableLeases.remove(lease)) {
+        try {
+          reclaimExpiredLease(lease, nowMillis);
+        } catch (RuntimeException e) {
+          logger.error("Failed to reclaim card resource lease [lease={}]", lease, e);
+        }
+      }
+    }
+    if (lease != null) {
+      scheduleLeaseReaper(lease.getExpirationTimeMillis());
+    }
+  }
+
+  /**
+   * Gets the lease expiring first.
+   *
+   * @return Null if no lease has a usage timeout.
+   */
+  private CardResourceLeaseAdapter getFirstExpirableLease() {
+    try {
+      return expirableLeases.first();
+    } catch (NoSuchElementException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Unlocks the reader of the provided expired lease if it is still held, which gives back the
+   * pending card resources and wakes up the waiting allocation requests, and reports the leak.
+   *
+   * <p>For a "pool" plugin, the reader is released to its "pool" plugin.
+   *
+   * @param lease The expired lease.
+   * @param nowMillis The current time.
+   */
+  private void reclaimExpiredLease(CardResourceLeaseAdapter lease, long nowMillis) {
+    if (lease.getReaderManager() != null) {
+      if (!lease.getReaderManager().unlock(lease, null)) {
+        return;
+      }
+    } else {
+      if (!releasePoolCardResourceLease(lease, false)) {
+        return;
+      }
+      signalCardResourceAvailable(null);
+    }
+    lease.getCardProfileManager().getStatistics().onLeaseReclaimed();
+    logger.warn(
+        "Card resource reclaimed due to a usage timeout exceeded [reader={}, holderThread={}, leaseAgeMs={}, usageTimeoutMs={}]",
+        lease.getReader().getName(),
+        lease.getHolderThreadName(),
+        nowMillis - lease.getCreationTimeMillis(),
+        lease.getUsageTimeoutMillis());
   }
 
   /**
    * Configures the card resource service.
    *
-   * <p>If service is started, then stops the service, applies the configuration and starts the
-   * service.
+   * <p>If service is started, then only the plugins and the card profile managers whose
+   * configuration changed are removed or created, the others being kept with their readers, their
+   * card resources and their leases. The service is stopped and started again only if the new
+   * configuration can not be applied this way (selection cache changed or card resources discovery
+   * in progress).
+   *
+   * <p>The configuration changes are serialised against the processing of the plugin and reader
+   * events.
    *
    * <p>If not, then only applies the configuration.
    *
@@ -124,168 +543,1169 @@ void registerPoolCardResource(CardResource cardResource, PoolPlugin poolPlugin)
    */
   void configure(CardResourceServiceConfiguratorAdapter configurator) {
     logger.info("Applying new card resource service configuration");
-    if (isStarted) {
-      stop();
-      this.configurator = configurator;
-      start();
-    } else {
-      this.configurator = configurator;
+    configurationLock.writeLock().lock();
+    try {
+      if (!isStarted) {
+        this.configurator = configurator;
+      } else if (isIncrementalReconfigurationPossible(configurator)) {
+        reconfigure(configurator);
+      } else {
+        stop();
+        this.configurator = configurator;
+        start();
+      }
+    } finally {
+      configurationLock.writeLock().unlock();
     }
     logger.info("New card resource service configuration applied");
   }
 
+  /**
+   * Indicates if the provided configuration can be applied to the started service without stopping
+   * it.
+   *
+   * @param newConfigurator The new configuration.
+   * @return False if the selection cache changed or if a discovery of the card resources is in
+   *     progress.
+   */
+  private boolean isIncrementalReconfigurationPossible(
+      CardResourceServiceConfiguratorAdapter newConfigurator) {
+    synchronized (discoveryMonitor) {
+      if (discoveryExecutor != null) {
+        return false;
+      }
+    }
+    return configurator.isSelectionCacheEnabled() == newConfigurator.isSelectionCacheEnabled()
+        && configurator.getSelectionCacheValidityMillis()
+            == newConfigurator.getSelectionCacheValidityMillis();
+  }
+
+  /**
+   * Applies the provided configuration to the started service by removing and creating only the
+   * plugins and card profile managers whose configuration changed.
+   *
+   * <p>The readers of the new plugins, and the readers not used before, are analysed for all the
+   * card profile managers handling them. The readers already registered are only analysed for the
+   * new card profile managers, and the readers to remove are only removed, as soon as they are not
+   * locked, so that the current leases are not disturbed.
+   *
+   * @param newConfigurator The new configuration.
+   */
+  private void reconfigure(CardResourceServiceConfiguratorAdapter newConfigurator) {
+
+    // Remove the plugins no longer configured the same way, with their readers.
+    List<ConfiguredPlugin> addedConfiguredPlugins =
+        getMissingConfiguredPlugins(newConfigurator, configurator);
+    for (ConfiguredPlugin configuredPlugin :
+        getMissingConfiguredPlugins(configurator, newConfigurator)) {
+      logger.info("Removing plugin [plugin={}]", configuredPlugin.getPlugin().getName());
+      stopMonitoring(configuredPlugin);
+      for (ReaderManagerAdapter readerManager : new ArrayList<>(registry.getReaderManagers())) {
+        if (readerManager.getPlugin() == configuredPlugin.getPlugin()) {
+          removeReaderWhenUnlocked(readerManager);
+        }
+      }
+      pluginToObservableReadersMap.remove(configuredPlugin.getPlugin());
+    }
+    configurator = newConfigurator;
+
+    // Keep the card profile managers configured the same way, replace the others.
+    Map<String, CardProfileManagerAdapter> previousCardProfileManagers =
+        new HashMap<>(cardProfileNameToCardProfileManagerMap);
+    List<CardProfileManagerAdapter> createdCardProfileManagers = new ArrayList<>();
+    for (CardResourceProfileConfigurator profile :
+        configurator.getCardResourceProfileConfigurators()) {
+      CardProfileManagerAdapter cardProfileManager =
+          new CardProfileManagerAdapter(profile, configurator);
+      CardProfileManagerAdapter previousCardProfileManager =
+          previousCardProfileManagers.remove(profile.getProfileName());
+      if (previousCardProfileManager == null
+          || !previousCardProfileManager.hasSameConfiguration(cardProfileManager)) {
+        logger.info("Creating card resource profile [profile={}]", profile.getProfileName());
+        createdCardProfileManagers.add(cardProfileManager);
+        cardProfileNameToCardProfileManagerMap.put(profile.getProfileName(), cardProfileManager);
+        registry.registerCardProfileManager(cardProfileManager);
+        if (previousCardProfileManager != null) {
+          removeCardProfileManager(previousCardProfileManager);
+        }
+      }
+    }
+    for (CardProfileManagerAdapter previousCardProfileManager :
+        previousCardProfileManagers.values()) {
+      cardProfileNameToCardProfileManagerMap.remove(
+          previousCardProfileManager.getProfileName());
+      removeCardProfileManager(previousCardProfileManager);
+    }
+
+    // Analyse the readers for the new card profile managers.
+    List<ReaderManagerAdapter> existingReaderManagers =
+        new ArrayList<>(registry.getReaderManagers());
+    List<ReaderManagerAdapter> newReaderManagers = new ArrayList<>();
+    for (Plugin plugin : configurator.getPlugins()) {
+      for (CardReader reader : plugin.getReaders()) {
+        if (!registry.isReaderRegistered(reader)) {
+          newReaderManagers.add(registerReader(reader, plugin));
+        }
+      }
+    }
+    for (ReaderManagerAdapter readerManager : existingReaderManagers) {
+      if (readerManagersToRemove.contains(readerManager)) {
+        continue;
+      }
+      List<CardProfileManagerAdapter> cardProfileManagers = getCardProfileManagers(readerManager);
+      if (cardProfileManagers.isEmpty()) {
+        removeReaderWhenUnlocked(readerManager);
+      } else {
+        cardProfileManagers.retainAll(createdCardProfileManagers);
+        if (!cardProfileManagers.isEmpty()) {
+          discoverCardResourcesWhenUnlocked(readerManager, cardProfileManagers);
+        }
+      }
+    }
+    for (ReaderManagerAdapter readerManager : newReaderManagers) {
+      for (Map.Entry<CardProfileManagerAdapter, CardResourceAdapter> entry :
+          discoverCardResources(readerManager).entrySet()) {
+        entry.getKey().addCardResource(entry.getValue());
+      }
+    }
+    removeUnusedReaderManagers();
+
+    // Start the monitoring of the new plugins and of the new readers of the other plugins.
+    for (ConfiguredPlugin configuredPlugin : addedConfiguredPlugins) {
+      startMonitoring(configuredPlugin);
+    }
+    for (ReaderManagerAdapter readerManager : newReaderManagers) {
+      if (readerManager.isActive()
+          && !isConfiguredPluginPresent(addedConfiguredPlugins, readerManager.getPlugin())) {
+        startMonitoring(readerManager.getReader(), readerManager.getPlugin());
+      }
+    }
+    resizePoolAllocationExecutor();
+    for (CardProfileManagerAdapter cardProfileManager : createdCardProfileManagers) {
+      cardProfileManager.onDiscoveryCompleted();
+    }
+  }
+
+  /**
+   * Gets the configured plugins of the first configuration which are not configured the same way
+   * in the second configuration.
+   *
+   * @param configurator The configuration to search.
+   * @param referenceConfigurator The reference configuration.
+   * @return A not null list.
+   */
+  private static List<ConfiguredPlugin> getMissingConfiguredPlugins(
+      CardResourceServiceConfiguratorAdapter configurator,
+      CardResourceServiceConfiguratorAdapter referenceConfigurator) {
+    List<ConfiguredPlugin> missingConfiguredPlugins = new ArrayList<>();
+    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
+      ConfiguredPlugin referenceConfiguredPlugin =
+          referenceConfigurator.getConfiguredPlugin(configuredPlugin.getPlugin());
+      if (referenceConfiguredPlugin == null
+          || !configuredPlugin.hasSameConfiguration(referenceConfiguredPlugin)) {
+        missingConfiguredPlugins.add(configuredPlugin);
+      }
+    }
+    return missingConfiguredPlugins;
+  }
+
+  /**
+   * Indicates if the provided plugin is the plugin of one of the provided configured plugins.
+   *
+   * @param configuredPlugins The configured plugins.
+   * @param plugin The plugin.
+   * @return True if the plugin is found.
+   */
+  private static boolean isConfiguredPluginPresent(
+      List<ConfiguredPlugin> configuredPlugins, Plugin plugin) {
+    for (ConfiguredPlugin configuredPlugin : configuredPlugins) {
+      if (configuredPlugin.getPlugin() == plugin) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes the provided card profile manager replaced or no longer configured: its waiting
+   * allocation requests are cancelled and its card resources not used by any other card profile
+   * manager are removed from their reader manager. The current leases remain valid until released.
+   *
+   * @param cardProfileManager The card profile manager to remove.
+   */
+  private void removeCardProfileManager(CardProfileManagerAdapter cardProfileManager) {
+    logger.info(
+        "Removing card resource profile [profile={}]",
+        cardProfileManager.getProfileName());
+    registry.unregisterCardProfileManager(cardProfileManager);
+    cardProfileManager.cancelWaiters("Card resource profile removed");
+    cardProfileManager.releaseWarmReserve();
+    for (CardResourceAdapter cardResource : cardProfileManager.getCardResources()) {
+      cardProfileManager.removeCardResource(cardResource);
+      boolean isUsed = !registry.getCardProfileManagers(cardResource).isEmpty();
+      ReaderManagerAdapter readerManager = registry.getReaderManager(cardResource.getReader());
+      if (!isUsed && readerManager != null) {
+        readerManager.removeCardResource(cardResource);
+      }
+    }
+  }
+
+  /**
+   * Analyses the card of the provided registered reader for the provided new card profile managers
+   * as soon as the reader is not locked, so that the transaction in progress is not disturbed.
+   *
+   * <p>The analysis is retried periodically while the reader is locked, and abandoned if the reader
+   * or the card profile managers have been removed in the meantime.
+   *
+   * @param readerManager The reader manager.
+   * @param cardProfileManagers The card profile managers handling the reader.
+   */
+  private void discoverCardResourcesWhenUnlocked(
+      ReaderManagerAdapter readerManager, List<CardProfileManagerAdapter> cardProfileManagers) {
+    configurationLock.readLock().lock();
+    try {
+      if (!isStarted
+          || registry.getReaderManager(readerManager.getReader()) != readerManager
+          || readerManagersToRemove.contains(readerManager)) {
+        return;
+      }
+      cardProfileManagers.retainAll(cardProfileNameToCardProfileManagerMap.values());
+      if (cardProfileManagers.isEmpty()) {
+        return;
+      }
+      List<CardResourceAdapter> cardResources = null;
+      synchronized (readerManager.getReader()) {
+        if (!readerManager.isLocked()) {
+          cardResources = matchCardResources(readerManager, cardProfileManagers);
+        }
+      }
+      if (cardResources == null) {
+        logger.debug(
+            "Card analysis postponed, reader locked [reader={}]",
+            readerManager.getReader().getName());
+        scheduleLockedReaderRetry(
+            () -> discoverCardResourcesWhenUnlocked(readerManager, cardProfileManagers));
+        return;
+      }
+      for (int i = 0; i < cardProfileManagers.size(); i++) {
+        if (cardResources.get(i) != null) {
+          cardProfileManagers.get(i).addCardResource(cardResources.get(i));
+        }
+      }
+    } finally {
+      configurationLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the provided registered reader manager with its card resources as soon as its reader is
+   * not locked, so that the transaction in progress is not disturbed.
+   *
+   * <p>While the reader is locked, its card resources are withdrawn from the card profile managers,
+   * the current lease remaining valid until released, and the removal is retried periodically. Once
+   * removed, the reader is registered again if its plugin is still configured, as on a reader
+   * connection.
+   *
+   * <p>This method must be invoked while holding the configuration lock.
+   *
+   * @param readerManager The reader manager to remove.
+   */
+  private void removeReaderWhenUnlocked(ReaderManagerAdapter readerManager) {
+    CardReader reader = readerManager.getReader();
+    if (!isStarted || registry.getReaderManager(reader) != readerManager) {
+      readerManagersToRemove.remove(readerManager);
+      return;
+    }
+    synchronized (reader) {
+      if (readerManager.isLocked()) {
+        if (readerManagersToRemove.add(readerManager)) {
+          logger.debug("Reader removal postponed, reader locked [reader={}]", reader.getName());
+          withdrawCardResources(readerManager);
+        }
+        scheduleLockedReaderRetry(() -> removeDeferredReader(readerManager));
+        return;
+      }
+      onCardRemoved(readerManager);
+      unregisterReader(reader, readerManager.getPlugin());
+    }
+    if (readerManagersToRemove.remove(readerManager)
+        && configurator.getPlugins().contains(readerManager.getPlugin())
+        && readerManager.getPlugin().getReader(reader.getName()) == reader) {
+      synchronized (reader) {
+        onReaderConnected(reader, readerManager.getPlugin());
+      }
+    }
+  }
+
+  /**
+   * Retries the postponed removal of the provided reader manager.
+   *
+   * @param readerManager The reader manager to remove.
+   */
+  private void removeDeferredReader(ReaderManagerAdapter readerManager) {
+    configurationLock.readLock().lock();
+    try {
+      removeReaderWhenUnlocked(readerManager);
+    } finally {
+      configurationLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Withdraws the card resources of the provided reader manager from the card profile managers
+   * referencing them, without releasing the card resource in use.
+   *
+   * @param readerManager The reader manager.
+   */
+  private void withdrawCardResources(ReaderManagerAdapter readerManager) {
+    for (CardResource cardResource : new ArrayList<>(readerManager.getCardResources())) {
+      for (CardProfileManagerAdapter cardProfileManager :
+          registry.getCardProfileManagers(cardResource)) {
+        cardProfileManager.removeCardResource(cardResource);
+      }
+    }
+  }
+
+  /**
+   * Schedules the provided retry of a task postponed because a reader is locked.
+   *
+   * @param task The task to retry.
+   */
+  private void scheduleLockedReaderRetry(Runnable task) {
+    try {
+      getScheduler().schedule(task, LOCKED_READER_RETRY_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // The service is stopping.
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0.0
+   */
+  @Override
+  public CardResourceServiceConfigurator getConfigurator() {
+    return new CardResourceServiceConfiguratorAdapter();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0.0
+   */
+  @Override
+  public void start() {
+    if (configurator == null) {
+      throw new IllegalStateException("The card resource service is not configured");
+    }
+    if (isStarted) {
+      stop();
+    }
+    logger.info("Starting card resource service");
+    scheduler = createScheduler();
+    initializeReaderManagers();
+    initializeCardProfileManagers();
+    if (configurator.isProgressiveStart()) {
+      isStarted = true;
+      startProgressiveDiscovery();
+      logger.info("Card resource service started, card resources discovery in progress");
+    } else {
+      discoverCardResources();
+      onDiscoveryCompleted();
+      isStarted = true;
+      logger.info("Card resource service started");
+    }
+  }
+
+  /**
+   * Creates the scheduler used for the deferred tasks, running on a single daemon thread.
+   *
+   * @return A new instance.
+   */
+  private static ScheduledExecutorService createScheduler() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "keyple-card-resource-service-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /** Initializes a reader manager for each reader of each configured "regular" plugin. */
+  private void initializeReaderManagers() {
+    for (Plugin plugin : configurator.getPlugins()) {
+      for (CardReader reader : plugin.getReaders()) {
+        registerReader(reader, plugin);
+      }
+    }
+  }
+
+  /**
+   * Creates and registers a reader manager associated to the provided reader and its associated
+   * plugin.<br>
+   * If the provided reader is observable, then add it to the map of used observable readers.
+   *
+   * @param reader The reader to register.
+   * @param plugin The associated plugin.
+   * @return A not null reference.
+   */
+  private ReaderManagerAdapter registerReader(CardReader reader, Plugin plugin) {
+
+    // Get the reader configurator if a monitoring is requested for this reader.
+    ConfiguredPlugin configuredPlugin = configurator.getConfiguredPlugin(plugin);
+    ReaderConfiguratorSpi readerConfiguratorSpi =
+        configuredPlugin != null ? configuredPlugin.getReaderConfiguratorSpi() : null;
+
+    ReaderManagerAdapter readerManager =
+        new ReaderManagerAdapter(
+            reader,
+            plugin,
+            readerConfiguratorSpi,
+            configurator.isSelectionCacheEnabled(),
+            configurator.getSelectionCacheValidityMillis());
+    registry.registerReaderManager(readerManager);
+
+    if (reader instanceof ObservableCardReader) {
+      Set<ObservableCardReader> usedObservableReaders = pluginToObservableReadersMap.get(plugin);
+      if (usedObservableReaders == null) {
+        usedObservableReaders = Collections.newSetFromMap(new ConcurrentHashMap<>(1));
+        pluginToObservableReadersMap.put(plugin, usedObservableReaders);
+      }
+      usedObservableReaders.add((ObservableCardReader) reader);
+    }
+
+    return readerManager;
+  }
+
+  /** Creates and registers a card profile manager for each configured card profile. */
+  private void initializeCardProfileManagers() {
+    for (CardResourceProfileConfigurator profile :
+        configurator.getCardResourceProfileConfigurators()) {
+      CardProfileManagerAdapter cardProfileManager =
+          new CardProfileManagerAdapter(profile, configurator);
+      cardProfileNameToCardProfileManagerMap.put(profile.getProfileName(), cardProfileManager);
+      registry.registerCardProfileManager(cardProfileManager);
+    }
+  }
+
+  /**
+   * Creates all available card resources by analysing the card of each registered reader, using up
+   * to the configured number of threads.
+   *
+   * <p>Each reader is set up and its card analysed by a same thread, then the card resources found
+   * are added to each card profile manager in the order of the readers of its plugins.
+   *
+   * @throws IllegalStateException If the discovery has been interrupted.
+   */
+  private void discoverCardResources() {
+    List<ReaderManagerAdapter> readerManagers = getRegisteredReaderManagers();
+    Map<CardReader, Map<CardProfileManagerAdapter, CardResourceAdapter>> discoveredCardResources =
+        new HashMap<>(readerManagers.size());
+    int threadCount = Math.min(configurator.getDiscoveryThreadCount(), readerManagers.size());
+    if (threadCount <= 1) {
+      for (ReaderManagerAdapter readerManager : readerManagers) {
+        discoveredCardResources.put(
+            readerManager.getReader(), discoverCardResources(readerManager));
+      }
+    } else {
+      logger.info(
+          "Discovering card resources [readers={}, threads={}]",
+          readerManagers.size(),
+          threadCount);
+      ExecutorService executor = createDiscoveryExecutor(threadCount);
+      try {
+        List<Future<Map<CardProfileManagerAdapter, CardResourceAdapter>>> futures =
+            new ArrayList<>(readerManagers.size());
+        for (ReaderManagerAdapter readerManager : readerManagers) {
+          futures.add(executor.submit(() -> discoverCardResources(readerManager)));
+        }
+        for (int i = 0; i < readerManagers.size(); i++) {
+          discoveredCardResources.put(
+              readerManagers.get(i).getReader(), getDiscoveryResult(futures.get(i)));
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+    for (CardProfileManagerAdapter cardProfileManager :
+        cardProfileNameToCardProfileManagerMap.values()) {
+      for (Plugin plugin : cardProfileManager.getPlugins()) {
+        for (CardReader reader : plugin.getReaders()) {
+          Map<CardProfileManagerAdapter, CardResourceAdapter> cardResources =
+              discoveredCardResources.get(reader);
+          CardResourceAdapter cardResource =
+              cardResources != null ? cardResources.get(cardProfileManager) : null;
+          if (cardResource != null) {
+            cardProfileManager.addCardResource(cardResource);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts the discovery of the card resources in background, adding the card resources to the
+   * card profile managers as soon as the card of each reader is analysed, then completes the start
+   * of the service once all the readers are analysed.
+   */
+  private void startProgressiveDiscovery() {
+    List<ReaderManagerAdapter> readerManagers = getRegisteredReaderManagers();
+    int threadCount =
+        Math.max(Math.min(configurator.getDiscoveryThreadCount(), readerManagers.size()), 1);
+    ExecutorService executor = createDiscoveryExecutor(threadCount);
+    synchronized (discoveryMonitor) {
+      discoveryExecutor = executor;
+    }
+    logger.info(
+        "Discovering card resources in background [readers={}, threads={}]",
+        readerManagers.size(),
+        threadCount);
+    if (readerManagers.isEmpty()) {
+      completeProgressiveDiscovery(executor);
+      return;
+    }
+    AtomicInteger remainingReaderCount = new AtomicInteger(readerManagers.size());
+    for (ReaderManagerAdapter readerManager : readerManagers) {
+      executor.execute(
+          () -> {
+            try {
+              for (Map.Entry<CardProfileManagerAdapter, CardResourceAdapter> entry :
+                  discoverCardResources(readerManager).entrySet()) {
+                entry.getKey().addCardResource(entry.getValue());
+              }
+            } catch (RuntimeException e) {
+              logger.error(
+                  "Card resources discovery failed [reader={}]",
+                  readerManager.getReader().getName(),
+                  e);
+            } finally {
+              if (remainingReaderCount.decrementAndGet() == 0) {
+                completeProgressiveDiscovery(executor);
+              }
+            }
+          });
+    }
+  }
+
+  /**
+   * Completes the start of the service once the background discovery of the card resources
+   * performed by the provided executor is completed, unless the service has been stopped in the
+   * meantime.
+   *
+   * @param executor The executor of the discovery.
+   */
+  private void completeProgressiveDiscovery(ExecutorService executor) {
+    synchronized (discoveryMonitor) {
+      if (discoveryExecutor != executor) {
+        return;
+      }
+      discoveryExecutor = null;
+      onDiscoveryCompleted();
+    }
+    executor.shutdown();
+    logger.info("Card resources discovery completed");
+  }
+
+  /**
+   * Unregisters the readers not used by any card profile manager, starts the monitoring and makes
+   * all the card profile managers ready once the discovery of the card resources is completed.
+   */
+  private void onDiscoveryCompleted() {
+    removeUnusedReaderManagers();
+    startMonitoring();
+    for (CardProfileManagerAdapter cardProfileManager :
+        cardProfileNameToCardProfileManagerMap.values()) {
+      cardProfileManager.onDiscoveryCompleted();
+    }
+  }
+
+  /**
+   * Gets the registered reader managers in the order of the configured plugins and of their
+   * readers.
+   *
+   * @return A not null list.
+   */
+  private List<ReaderManagerAdapter> getRegisteredReaderManagers() {
+    List<ReaderManagerAdapter> readerManagers = new ArrayList<>();
+    for (Plugin plugin : configurator.getPlugins()) {
+      for (CardReader reader : plugin.getReaders()) {
+        ReaderManagerAdapter readerManager = registry.getReaderManager(reader);
+        if (readerManager != null) {
+          readerManagers.add(readerManager);
+        }
+      }
+    }
+    return readerManagers;
+  }
+
+  /**
+   * Sets up the reader of the provided reader manager if it is handled by at least one card profile
+   * manager and analyses its card for all of them.
+   *
+   * @param readerManager The reader manager.
+   * @return The card resources matching the card mapped to their card profile manager.
+   */
+  private Map<CardProfileManagerAdapter, CardResourceAdapter> discoverCardResources(
+      ReaderManagerAdapter readerManager) {
+    List<CardProfileManagerAdapter> cardProfileManagers = getCardProfileManagers(readerManager);
+    if (cardProfileManagers.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<CardResourceAdapter> cardResources =
+        matchCardResources(readerManager, cardProfileManagers);
+    Map<CardProfileManagerAdapter, CardResourceAdapter> results =
+        new HashMap<>(cardProfileManagers.size());
+    for (int i = 0; i < cardProfileManagers.size(); i++) {
+      if (cardResources.get(i) != null) {
+        results.put(cardProfileManagers.get(i), cardResources.get(i));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Creates the executor used to discover the card resources, running on daemon threads.
+   *
+   * @param threadCount The number of threads.
+   * @return A new instance.
+   */
+  private static ExecutorService createDiscoveryExecutor(int threadCount) {
+    AtomicInteger threadIndex = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threadCount,
+        runnable -> {
+          Thread thread =
+              new Thread(
+                  runnable,
+                  "keyple-card-resource-service-discovery-" + threadIndex.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Waits for the end of the analyses in progress of a stopped discovery, so that they no longer
+   * involve the card profile managers once the service is stopped.
+   *
+   * @param executor The executor of the stopped discovery.
+   */
+  private static void awaitDiscoveryTermination(ExecutorService executor) {
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits for the result of the discovery of a reader and rethrows its failure if any.
+   *
+   * @param future The future result.
+   * @return The card resources found mapped to their card profile manager.
+   * @throws IllegalStateException If the current thread has been interrupted.
+   */
+  private static Map<CardProfileManagerAdapter, CardResourceAdapter> getDiscoveryResult(
+      Future<Map<CardProfileManagerAdapter, CardResourceAdapter>> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Card resources discovery interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Card resources discovery failed", e.getCause());
+    }
+  }
+
+  /**
+   * Removes all reader managers whose reader is not accepted by any card profile manager and
+   * unregisters their associated readers.
+   */
+  private void removeUnusedReaderManagers() {
+
+    List<ReaderManagerAdapter> readerManagers = new ArrayList<>(registry.getReaderManagers());
+
+    for (ReaderManagerAdapter readerManager : readerManagers) {
+      if (!readerManager.isActive()) {
+        unregisterReader(readerManager.getReader(), readerManager.getPlugin());
+      }
+    }
+  }
+
+  /**
+   * Removes the registered reader manager associated to the provided reader and stops the
+   * observation of the reader if the reader is observable and the observation started.
+   *
+   * @param reader The reader to unregister.
+   * @param plugin The associated plugin.
+   */
+  private void unregisterReader(CardReader reader, Plugin plugin) {
+
+    registry.unregisterReaderManager(reader);
+    Set<ObservableCardReader> usedObservableReaders = pluginToObservableReadersMap.get(plugin);
+
+    if (usedObservableReaders != null && reader instanceof ObservableCardReader) {
+      ObservableCardReader observableCardReader = (ObservableCardReader) reader;
+      observableCardReader.removeObserver(this);
+      usedObservableReaders.remove(observableCardReader);
+    }
+  }
+
+  /**
+   * Starts the observation of observable plugins and/or observable readers if requested.<br>
+   * The observation of the readers is performed only for those accepted by at least one card
+   * profile manager.
+   */
+  private void startMonitoring() {
+    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
+      startMonitoring(configuredPlugin);
+    }
+  }
+
+  /**
+   * Starts the observation of the provided plugin and/or of its observable readers if requested.
+   *
+   * @param configuredPlugin The associated configuration.
+   */
+  private void startMonitoring(ConfiguredPlugin configuredPlugin) {
+
+    if (configuredPlugin.isWithPluginMonitoring()
+        && configuredPlugin.getPlugin() instanceof ObservablePlugin) {
+
+      logger.info(
+          "Reader monitoring start requested [plugin={}]", configuredPlugin.getPlugin().getName());
+      startPluginObservation(configuredPlugin);
+    }
+
+    if (configuredPlugin.isWithReaderMonitoring()
+        && pluginToObservableReadersMap.containsKey(configuredPlugin.getPlugin())) {
+
+      for (ObservableCardReader reader :
+          pluginToObservableReadersMap.get(configuredPlugin.getPlugin())) {
+
+        logger.info("Card monitoring start requested [reader={}]", reader.getName());
+        startReaderObservation(reader, configuredPlugin);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0.0
+   */
+  @Override
+  public void stop() {
+    isStarted = false;
+    isStopping = true;
+    ExecutorService stoppedDiscoveryExecutor;
+    synchronized (discoveryMonitor) {
+      stoppedDiscoveryExecutor = discoveryExecutor;
+      discoveryExecutor = null;
+    }
+    if (stoppedDiscoveryExecutor != null) {
+      stoppedDiscoveryExecutor.shutdownNow();
+      awaitDiscoveryTermination(stoppedDiscoveryExecutor);
+    }
+    synchronized (poolAllocationMonitor) {
+      if (poolAllocationExecutor != null) {
+        // The requests in progress are completed so that the readers obtained can be released.
+        poolAllocationExecutor.shutdown();
+        poolAllocationExecutor = null;
+      }
+    }
+    for (CardProfileManagerAdapter cardProfileManager :
+        cardProfileNameToCardProfileManagerMap.values()) {
+      cardProfileManager.cancelWaiters("Card resource service stopped");
+      cardProfileManager.signalCardResourceAvailable();
+      cardProfileManager.releaseWarmReserve();
+    }
+    releaseOutstandingLeases();
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+    synchronized (expirableLeases) {
+      leaseReaperTask = null;
+      expirableLeases.clear();
+    }
+    stopMonitoring();
+    registry.clear();
+    readerManagersToRemove.clear();
+    cardProfileNameToCardProfileManagerMap.clear();
+    cardResourceToPoolLeaseMap.clear();
+    pluginToObservableReadersMap.clear();
+    isStopping = false;
+    logger.info("Card resource service stopped");
+  }
+
+  /** Releases the card resources still in use, making their leases stale. */
+  private void releaseOutstandingLeases() {
+    for (ReaderManagerAdapter readerManager : registry.getReaderManagers()) {
+      if (readerManager.isLocked()) {
+        readerManager.unlock();
+      }
+    }
+    for (CardResourceLeaseAdapter lease : new ArrayList<>(cardResourceToPoolLeaseMap.values())) {
+      releasePoolCardResourceLease(lease, false);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public boolean stop(long drainTimeout, TimeUnit unit) throws InterruptedException {
+    Assert.getInstance().notNull(unit, "unit").isTrue(drainTimeout >= 0, "drainTimeout >= 0");
+    if (!isStarted) {
+      stop();
+      return true;
+    }
+    isStopping = true;
+    logger.info(
+        "Stopping card resource service, draining card resources in use [leases={}]",
+        getOutstandingLeaseCount());
+    for (CardProfileManagerAdapter cardProfileManager :
+        cardProfileNameToCardProfileManagerMap.values()) {
+      cardProfileManager.cancelWaiters("Card resource service stopping");
+      cardProfileManager.signalCardResourceAvailable();
+    }
+    int outstandingLeaseCount;
+    try {
+      outstandingLeaseCount = awaitOutstandingLeases(unit.toNanos(drainTimeout));
+    } finally {
+      stop();
+    }
+    if (outstandingLeaseCount != 0) {
+      logger.warn(
+          "Card resource service stopped before all card resources in use were released [leases={}]",
+          outstandingLeaseCount);
+    }
+    return outstandingLeaseCount == 0;
+  }
+
+  /**
+   * Waits until no lease is in progress or the provided timeout is reached.
+   *
+   * @param timeoutNanos The maximum time to wait (in nanoseconds).
+   * @return The number of leases still in progress.
+   * @throws InterruptedException If the calling thread is interrupted while waiting.
+   */
+  private int awaitOutstandingLeases(long timeoutNanos) throws InterruptedException {
+    long deadlineNanos = System.nanoTime() + timeoutNanos;
+    synchronized (drainMonitor) {
+      int outstandingLeaseCount;
+      long remainingNanos;
+      while ((outstandingLeaseCount = getOutstandingLeaseCount()) != 0
+          && (remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+        TimeUnit.NANOSECONDS.timedWait(drainMonitor, remainingNanos);
+      }
+      return outstandingLeaseCount;
+    }
+  }
+
+  /**
+   * Counts the leases in progress, associated to "regular" or "pool" plugins.
+   *
+   * @return A positive int.
+   */
+  private int getOutstandingLeaseCount() {
+    int outstandingLeaseCount = cardResourceToPoolLeaseMap.size();
+    for (ReaderManagerAdapter readerManager : registry.getReaderManagers()) {
+      if (readerManager.isLocked()) {
+        outstandingLeaseCount++;
+      }
+    }
+    return outstandingLeaseCount;
+  }
+
+  /** Stops the observation of all observable plugins and observable readers configured. */
+  private void stopMonitoring() {
+    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
+      stopMonitoring(configuredPlugin);
+    }
+  }
+
+  /**
+   * Stops the observation of the provided plugin and of its observable readers if configured.
+   *
+   * @param configuredPlugin The associated configuration.
+   */
+  private void stopMonitoring(ConfiguredPlugin configuredPlugin) {
+
+    if (configuredPlugin.isWithPluginMonitoring()
+        && configuredPlugin.getPlugin() instanceof ObservablePlugin) {
+
+      ((ObservablePlugin) configuredPlugin.getPlugin()).removeObserver(this);
+      logger.info("Reader monitoring stopped [plugin={}]", configuredPlugin.getPlugin().getName());
+    }
+
+    if (configuredPlugin.isWithReaderMonitoring()
+        && pluginToObservableReadersMap.containsKey(configuredPlugin.getPlugin())) {
+
+      for (ObservableCardReader reader :
+          pluginToObservableReadersMap.get(configuredPlugin.getPlugin())) {
+
+        reader.removeObserver(this);
+        logger.info("Card monitoring stopped [reader={}]", reader.getName());
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0.0
+   */
+  @Override
+  public CardResource getCardResource(String cardResourceProfileName) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Searching available card resource [profile={}]", cardResourceProfileName);
+    }
+    if (!isStarted) {
+      throw new IllegalStateException("Card resource service not started");
+    }
+    checkAllocationAllowed();
+    Assert.getInstance().notEmpty(cardResourceProfileName, "cardResourceProfileName");
+
+    CardProfileManagerAdapter cardProfileManager =
+        cardProfileNameToCardProfileManagerMap.get(cardResourceProfileName);
+
+    Assert.getInstance().notNull(cardProfileManager, "cardResourceProfileName");
+
+    CardResource cardResource = cardProfileManager.getCardResource();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resource found [cardResource={}]", getCardResourceInfo(cardResource));
+    }
+
+    return cardResource;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceLease getCardResourceLease(String cardResourceProfileName) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Searching available card resource lease [profile={}]", cardResourceProfileName);
+    }
+
+    CardResourceLease lease =
+        getAllocatingCardProfileManager(cardResourceProfileName).getCardResource();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resource lease found [lease={}]", lease);
+    }
+
+    return lease;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceLease getCardResourceLease(
+      String cardResourceProfileName, long timeout, TimeUnit unit) throws InterruptedException {
+    return getCardResourceWithTimeout(cardResourceProfileName, timeout, unit, null);
+  }
+
   /**
    * {@inheritDoc}
    *
-   * @since 2.0.0
+   * @since 3.2.0
    */
   @Override
-  public CardResourceServiceConfigurator getConfigurator() {
-    return new CardResourceServiceConfiguratorAdapter();
+  public CardResource getCardResource(
+      String cardResourceProfileName, long timeout, TimeUnit unit) throws InterruptedException {
+    return getCardResourceWithTimeout(cardResourceProfileName, timeout, unit, null);
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 2.0.0
+   * @since 3.2.0
    */
   @Override
-  public void start() {
-    if (configurator == null) {
-      throw new IllegalStateException("The card resource service is not configured");
-    }
-    if (isStarted) {
-      stop();
-    }
-    logger.info("Starting card resource service");
-    initializeReaderManagers();
-    initializeCardProfileManagers();
-    removeUnusedReaderManagers();
-    startMonitoring();
-    isStarted = true;
-    logger.info("Card resource service started");
+  public CardResource getCardResource(
+      String cardResourceProfileName,
+      long timeout,
+      TimeUnit unit,
+      CardResourceAllocationCancellation cancellation)
+      throws InterruptedException {
+    Assert.getInstance().notNull(cancellation, "cancellation");
+    return getCardResourceWithTimeout(cardResourceProfileName, timeout, unit, cancellation);
   }
 
-  /** Initializes a reader manager for each reader of each configured "regular" plugin. */
-  private void initializeReaderManagers() {
-    for (Plugin plugin : configurator.getPlugins()) {
-      for (CardReader reader : plugin.getReaders()) {
-        registerReader(reader, plugin);
-      }
+  /**
+   * Gets a card resource lease waiting at most the provided timeout.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param timeout The maximum amount of time to wait for a card resource.
+   * @param unit The unit of the timeout.
+   * @param cancellation The cancellation handle, null if none.
+   * @return Null if no card resource is available.
+   * @throws InterruptedException If the calling thread is interrupted.
+   */
+  private CardResourceLeaseAdapter getCardResourceWithTimeout(
+      String cardResourceProfileName,
+      long timeout,
+      TimeUnit unit,
+      CardResourceAllocationCancellation cancellation)
+      throws InterruptedException {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Searching available card resource [profile={}, timeout={}, unit={}]",
+          cardResourceProfileName,
+          timeout,
+          unit);
+    }
+    Assert.getInstance().notNull(unit, "unit").isTrue(timeout >= 0, "timeout >= 0");
+    long timeoutMillis = timeout > 0 ? Math.max(1, unit.toMillis(timeout)) : 0;
+    CardResourceLeaseAdapter lease =
+        getAllocatingCardProfileManager(cardResourceProfileName)
+            .getCardResource(timeoutMillis, cancellation);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resource lease found [lease={}]", lease);
     }
+    return lease;
   }
 
   /**
-   * Creates and registers a reader manager associated to the provided reader and its associated
-   * plugin.<br>
-   * If the provided reader is observable, then add it to the map of used observable readers.
+   * {@inheritDoc}
    *
-   * @param reader The reader to register.
-   * @param plugin The associated plugin.
-   * @return A not null reference.
+   * @since 3.2.0
    */
-  private ReaderManagerAdapter registerReader(CardReader reader, Plugin plugin) {
-
-    // Get the reader configurator if a monitoring is requested for this reader.
-    ReaderConfiguratorSpi readerConfiguratorSpi = null;
-    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
-      if (configuredPlugin.getPlugin() == plugin) {
-        readerConfiguratorSpi = configuredPlugin.getReaderConfiguratorSpi();
-        break;
-      }
-    }
-
-    ReaderManagerAdapter readerManager =
-        new ReaderManagerAdapter(
-            reader, plugin, readerConfiguratorSpi, configurator.getUsageTimeoutMillis());
-    readerToReaderManagerMap.put(reader, readerManager);
-
-    if (reader instanceof ObservableCardReader) {
-      Set<ObservableCardReader> usedObservableReaders = pluginToObservableReadersMap.get(plugin);
-      if (usedObservableReaders == null) {
-        usedObservableReaders = Collections.newSetFromMap(new ConcurrentHashMap<>(1));
-        pluginToObservableReadersMap.put(plugin, usedObservableReaders);
-      }
-      usedObservableReaders.add((ObservableCardReader) reader);
+  @Override
+  public CompletableFuture<CardResource> getCardResourceAsync(String cardResourceProfileName) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Searching available card resource asynchronously [profile={}]",
+          cardResourceProfileName);
     }
-
-    return readerManager;
+    return getAllocatingCardProfileManager(cardResourceProfileName).getCardResourceAsync(0);
   }
 
   /**
-   * Creates and registers a card profile manager for each configured card profile and creates all
-   * available card resources.
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
    */
-  private void initializeCardProfileManagers() {
-    for (CardResourceProfileConfigurator profile :
-        configurator.getCardResourceProfileConfigurators()) {
-      cardProfileNameToCardProfileManagerMap.put(
-          profile.getProfileName(), new CardProfileManagerAdapter(profile, configurator));
+  @Override
+  public CompletableFuture<CardResource> getCardResourceAsync(
+      String cardResourceProfileName, long timeout, TimeUnit unit) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Searching available card resource asynchronously [profile={}, timeout={}, unit={}]",
+          cardResourceProfileName,
+          timeout,
+          unit);
     }
+    Assert.getInstance().notNull(unit, "unit").isTrue(timeout > 0, "timeout > 0");
+    return getAllocatingCardProfileManager(cardResourceProfileName)
+        .getCardResourceAsync(Math.max(1, unit.toMillis(timeout)));
   }
 
   /**
-   * Removes all reader managers whose reader is not accepted by any card profile manager and
-   * unregisters their associated readers.
+   * Gets the card profile manager associated to the provided profile name.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started.
    */
-  private void removeUnusedReaderManagers() {
+  private CardProfileManagerAdapter getCardProfileManager(String cardResourceProfileName) {
+    if (!isStarted) {
+      throw new IllegalStateException("Card resource service not started");
+    }
+    Assert.getInstance().notEmpty(cardResourceProfileName, "cardResourceProfileName");
 
-    List<ReaderManagerAdapter> readerManagers = new ArrayList<>(readerToReaderManagerMap.values());
+    CardProfileManagerAdapter cardProfileManager =
+        cardProfileNameToCardProfileManagerMap.get(cardResourceProfileName);
 
-    for (ReaderManagerAdapter readerManager : readerManagers) {
-      if (!readerManager.isActive()) {
-        unregisterReader(readerManager.getReader(), readerManager.getPlugin());
-      }
-    }
+    Assert.getInstance().notNull(cardProfileManager, "cardResourceProfileName");
+
+    return cardProfileManager;
   }
 
   /**
-   * Removes the registered reader manager associated to the provided reader and stops the
-   * observation of the reader if the reader is observable and the observation started.
+   * Gets the card profile manager associated to the provided profile name in order to allocate a
+   * card resource.
    *
-   * @param reader The reader to unregister.
-   * @param plugin The associated plugin.
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the profile name is null, empty or not configured.
+   * @throws IllegalStateException If the service is not started or is stopping.
    */
-  private void unregisterReader(CardReader reader, Plugin plugin) {
-
-    readerToReaderManagerMap.remove(reader);
-    Set<ObservableCardReader> usedObservableReaders = pluginToObservableReadersMap.get(plugin);
+  private CardProfileManagerAdapter getAllocatingCardProfileManager(
+      String cardResourceProfileName) {
+    checkAllocationAllowed();
+    return getCardProfileManager(cardResourceProfileName);
+  }
 
-    if (usedObservableReaders != null && reader instanceof ObservableCardReader) {
-      ObservableCardReader observableCardReader = (ObservableCardReader) reader;
-      observableCardReader.removeObserver(this);
-      usedObservableReaders.remove(observableCardReader);
+  /**
+   * Checks that new allocation requests can be accepted.
+   *
+   * @throws IllegalStateException If the service is stopping.
+   */
+  private void checkAllocationAllowed() {
+    if (isStopping) {
+      throw new IllegalStateException("Card resource service stopping");
     }
   }
 
   /**
-   * Starts the observation of observable plugins and/or observable readers if requested.<br>
-   * The observation of the readers is performed only for those accepted by at least one card
-   * profile manager.
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
    */
-  private void startMonitoring() {
-    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
-
-      if (configuredPlugin.isWithPluginMonitoring()
-          && configuredPlugin.getPlugin() instanceof ObservablePlugin) {
-
-        logger.info(
-            "Reader monitoring start requested [plugin={}]",
-            configuredPlugin.getPlugin().getName());
-        startPluginObservation(configuredPlugin);
-      }
+  @Override
+  public List<CardResource> getCardResources(
+      String cardResourceProfileName, int count, long timeout, TimeUnit unit) {
 
-      if (configuredPlugin.isWithReaderMonitoring()
-          && pluginToObservableReadersMap.containsKey(configuredPlugin.getPlugin())) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Searching available card resources [profile={}, count={}, timeout={}, unit={}]",
+          cardResourceProfileName,
+          count,
+          timeout,
+          unit);
+    }
+    Assert.getInstance()
+        .greaterOrEqual(count, 1, "count")
+        .notNull(unit, "unit")
+        .isTrue(timeout >= 0, "timeout >= 0");
+    long timeoutMillis = timeout > 0 ? Math.max(1, unit.toMillis(timeout)) : 0;
 
-        for (ObservableCardReader reader :
-            pluginToObservableReadersMap.get(configuredPlugin.getPlugin())) {
+    List<CardResource> cardResources =
+        new ArrayList<>(
+            getAllocatingCardProfileManager(cardResourceProfileName)
+                .getCardResources(count, timeoutMillis));
 
-          logger.info("Card monitoring start requested [reader={}]", reader.getName());
-          startReaderObservation(reader, configuredPlugin);
-        }
-      }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resources found [count={}]", cardResources.size());
     }
+
+    return cardResources;
   }
 
   /**
@@ -294,105 +1714,169 @@ private void startMonitoring() {
    * @since 2.0.0
    */
   @Override
-  public void stop() {
-    isStarted = false;
-    stopMonitoring();
-    readerToReaderManagerMap.clear();
-    cardProfileNameToCardProfileManagerMap.clear();
-    cardResourceToPoolPluginMap.clear();
-    pluginToObservableReadersMap.clear();
-    logger.info("Card resource service stopped");
-  }
-
-  /** Stops the observation of all observable plugins and observable readers configured. */
-  private void stopMonitoring() {
-    for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
-
-      if (configuredPlugin.isWithPluginMonitoring()
-          && configuredPlugin.getPlugin() instanceof ObservablePlugin) {
-
-        ((ObservablePlugin) configuredPlugin.getPlugin()).removeObserver(this);
-        logger.info(
-            "Reader monitoring stopped [plugin={}]", configuredPlugin.getPlugin().getName());
-      }
+  public void releaseCardResource(CardResource cardResource) {
 
-      if (configuredPlugin.isWithReaderMonitoring()
-          && pluginToObservableReadersMap.containsKey(configuredPlugin.getPlugin())) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("Releasing card resource [cardResource={}]", getCardResourceInfo(cardResource));
+    }
+    Assert.getInstance().notNull(cardResource, "cardResource");
+    if (!isStarted) {
+      logger.debug("Card resource service stopped, card resource already released");
+      return;
+    }
 
-        for (ObservableCardReader reader :
-            pluginToObservableReadersMap.get(configuredPlugin.getPlugin())) {
+    if (unlockCardResource(cardResource, null)) {
+      signalCardResourceAvailable(null);
+    }
 
-          reader.removeObserver(this);
-          logger.info("Card monitoring stopped [reader={}]", reader.getName());
-        }
-      }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Card resource released");
     }
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 2.0.0
+   * @since 3.2.0
    */
   @Override
-  public CardResource getCardResource(String cardResourceProfileName) {
+  public void releaseCardResources(Collection<CardResource> cardResources) {
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("Searching available card resource [profile={}]", cardResourceProfileName);
+    Assert.getInstance().notNull(cardResources, "cardResources");
+    for (CardResource cardResource : cardResources) {
+      Assert.getInstance().notNull(cardResource, "cardResource");
     }
     if (!isStarted) {
-      throw new IllegalStateException("Card resource service not started");
+      logger.debug("Card resource service stopped, card resources already released");
+      return;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Releasing card resources [count={}]", cardResources.size());
     }
-    Assert.getInstance().notEmpty(cardResourceProfileName, "cardResourceProfileName");
-
-    CardProfileManagerAdapter cardProfileManager =
-        cardProfileNameToCardProfileManagerMap.get(cardResourceProfileName);
-
-    Assert.getInstance().notNull(cardProfileManager, "cardResourceProfileName");
 
-    CardResource cardResource = cardProfileManager.getCardResource();
+    releaseCardResources(cardResources, null);
 
     if (logger.isDebugEnabled()) {
-      logger.debug("Card resource found [cardResource={}]", getCardResourceInfo(cardResource));
+      logger.debug("Card resources released");
     }
-
-    return cardResource;
   }
 
   /**
-   * {@inheritDoc}
+   * Releases the provided card resources or leases and signals their availability to the card
+   * profile managers.
    *
-   * @since 2.0.0
+   * @param cardResources The card resources or leases to release.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   * @since 3.2.0
    */
-  @Override
-  public void releaseCardResource(CardResource cardResource) {
+  void releaseCardResources(
+      Collection<? extends CardResource> cardResources,
+      CardProfileManagerAdapter cardProfileManagerToSkip) {
+    boolean isPoolCardResourceReleased = false;
+    for (CardResource cardResource : cardResources) {
+      isPoolCardResourceReleased |= unlockCardResource(cardResource, cardProfileManagerToSkip);
+    }
+    if (isPoolCardResourceReleased) {
+      signalCardResourceAvailable(cardProfileManagerToSkip);
+    }
+  }
 
+  /**
+   * Releases the provided lease unless it is stale, and signals the availability of its card
+   * resource to the card profile managers.
+   *
+   * @param lease The lease to release.
+   * @param isStaleLeaseIgnored True if the rejection of a stale lease is expected (lease closed
+   *     several times or after its re-allocation) and must not be reported as a warning.
+   * @return False if the lease is stale or if the service is not started.
+   * @since 3.2.0
+   */
+  boolean releaseCardResourceLease(CardResourceLeaseAdapter lease, boolean isStaleLeaseIgnored) {
+    if (!isStarted) {
+      return false;
+    }
     if (logger.isDebugEnabled()) {
-      logger.debug("Releasing card resource [cardResource={}]", getCardResourceInfo(cardResource));
+      logger.debug("Releasing card resource lease [lease={}]", lease);
     }
-    if (!isStarted) {
-      throw new IllegalStateException("Card resource service not started");
+    boolean isReleased = unlockCardResourceLease(lease, null);
+    if (!isReleased) {
+      if (!isStaleLeaseIgnored) {
+        logger.warn("Stale card resource lease release rejected [lease={}]", lease);
+      } else if (logger.isDebugEnabled()) {
+        logger.debug("Stale card resource lease release ignored [lease={}]", lease);
+      }
+    }
+    if (isReleased && lease.getPoolPlugin() != null) {
+      signalCardResourceAvailable(null);
+    }
+    return isReleased;
+  }
+
+  /**
+   * Unlocks the reader of the provided card resource or lease, or releases it to its "pool" plugin.
+   *
+   * <p>For a "regular" plugin, the reader manager gives back the card resource and signals its
+   * availability to the card profile managers concerned.
+   *
+   * @param cardResource The card resource or lease to unlock.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   * @return True if the card resource has been released to its "pool" plugin.
+   */
+  private boolean unlockCardResource(
+      CardResource cardResource, CardProfileManagerAdapter cardProfileManagerToSkip) {
+
+    if (cardResource instanceof CardResourceLeaseAdapter) {
+      CardResourceLeaseAdapter lease = (CardResourceLeaseAdapter) cardResource;
+      if (!unlockCardResourceLease(lease, cardProfileManagerToSkip)) {
+        logger.warn("Stale card resource lease release rejected [lease={}]", lease);
+        return false;
+      }
+      return lease.getPoolPlugin() != null;
     }
-    Assert.getInstance().notNull(cardResource, "cardResource");
 
     // For regular or pool plugin ?
-    ReaderManagerAdapter readerManager =
-        readerToReaderManagerMap.get(
-            cardResource.getReader()); // NOSONAR card resource cannot be null here
+    ReaderManagerAdapter readerManager = registry.getReaderManager(cardResource.getReader());
 
     if (readerManager != null) {
-      readerManager.unlock();
+      readerManager.unlock(cardResource, cardProfileManagerToSkip);
+      return false;
+    }
 
+    CardResourceLeaseAdapter lease = cardResourceToPoolLeaseMap.get(cardResource);
+    return lease != null && releasePoolCardResourceLease(lease, true);
+  }
+
+  /**
+   * Unlocks the reader of the card resource of the provided lease, or releases it to its "pool"
+   * plugin, unless the lease is stale.
+   *
+   * @param lease The lease to unlock.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   * @return False if the lease is stale.
+   */
+  private boolean unlockCardResourceLease(
+      CardResourceLeaseAdapter lease, CardProfileManagerAdapter cardProfileManagerToSkip) {
+    boolean isReleased;
+    if (lease.getReaderManager() != null) {
+      isReleased = lease.getReaderManager().unlock(lease, cardProfileManagerToSkip);
     } else {
-      PoolPlugin poolPlugin = cardResourceToPoolPluginMap.get(cardResource);
-      if (poolPlugin != null) {
-        cardResourceToPoolPluginMap.remove(cardResource);
-        poolPlugin.releaseReader(cardResource.getReader());
-      }
+      isReleased = releasePoolCardResourceLease(lease, true);
     }
+    return isReleased;
+  }
 
-    if (logger.isDebugEnabled()) {
-      logger.debug("Card resource released");
+  /**
+   * Wakes up the allocation requests blocked on the card profile managers because a "pool" card
+   * resource may now be available.
+   *
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   */
+  private void signalCardResourceAvailable(CardProfileManagerAdapter cardProfileManagerToSkip) {
+    for (CardProfileManagerAdapter cardProfileManager :
+        cardProfileNameToCardProfileManagerMap.values()) {
+      if (cardProfileManager != cardProfileManagerToSkip) {
+        cardProfileManager.signalCardResourceAvailable();
+      }
     }
   }
 
@@ -404,18 +1888,42 @@ public void releaseCardResource(CardResource cardResource) {
   @Override
   public void removeCardResource(CardResource cardResource) {
     releaseCardResource(cardResource);
+    if (cardResource instanceof CardResourceLeaseAdapter) {
+      cardResource = ((CardResourceLeaseAdapter) cardResource).getCardResource();
+    }
     // For regular plugin ?
-    ReaderManagerAdapter readerManager = readerToReaderManagerMap.get(cardResource.getReader());
+    ReaderManagerAdapter readerManager = registry.getReaderManager(cardResource.getReader());
     if (readerManager != null) {
       readerManager.removeCardResource(cardResource);
       for (CardProfileManagerAdapter cardProfileManager :
-          cardProfileNameToCardProfileManagerMap.values()) {
+          registry.getCardProfileManagers(cardResource)) {
         cardProfileManager.removeCardResource(cardResource);
       }
     }
     logger.info("Card resource removed [cardResource={}]", getCardResourceInfo(cardResource));
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceProfileStatistics getCardResourceProfileStatistics(
+      String cardResourceProfileName) {
+    return getCardProfileManager(cardResourceProfileName).getStatistics();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CompletableFuture<Void> getCardResourceProfileReadiness(String cardResourceProfileName) {
+    return getCardProfileManager(cardResourceProfileName).getReadiness();
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -423,31 +1931,36 @@ public void removeCardResource(CardResource cardResource) {
    */
   @Override
   public void onPluginEvent(PluginEvent pluginEvent) {
-    if (!isStarted) {
-      return;
-    }
-    Plugin plugin = SmartCardServiceProvider.getService().getPlugin(pluginEvent.getPluginName());
-    if (pluginEvent.getType() == PluginEvent.Type.READER_CONNECTED) {
-      for (String readerName : pluginEvent.getReaderNames()) {
-        // Get the new reader from the plugin because it is not yet registered in the service.
-        CardReader reader = plugin.getReader(readerName);
-        if (reader != null) {
-          synchronized (reader) {
-            onReaderConnected(reader, plugin);
+    configurationLock.readLock().lock();
+    try {
+      if (!isStarted) {
+        return;
+      }
+      Plugin plugin = SmartCardServiceProvider.getService().getPlugin(pluginEvent.getPluginName());
+      if (pluginEvent.getType() == PluginEvent.Type.READER_CONNECTED) {
+        for (String readerName : pluginEvent.getReaderNames()) {
+          // Get the new reader from the plugin because it is not yet registered in the service.
+          CardReader reader = plugin.getReader(readerName);
+          if (reader != null) {
+            synchronized (reader) {
+              onReaderConnected(reader, plugin);
+            }
           }
         }
-      }
-    } else {
-      for (String readerName : pluginEvent.getReaderNames()) {
-        // Get the reader back from the service because it is no longer registered in the plugin.
-        CardReader reader = getReader(readerName);
-        if (reader != null) {
-          // The reader is registered in the service.
-          synchronized (reader) {
-            onReaderDisconnected(reader, plugin);
+      } else {
+        for (String readerName : pluginEvent.getReaderNames()) {
+          // Get the reader back from the service because it is no longer registered in the plugin.
+          CardReader reader = getReader(readerName);
+          if (reader != null) {
+            // The reader is registered in the service.
+            synchronized (reader) {
+              onReaderDisconnected(reader, plugin);
+            }
           }
         }
       }
+    } finally {
+      configurationLock.readLock().unlock();
     }
   }
 
@@ -458,12 +1971,8 @@ public void onPluginEvent(PluginEvent pluginEvent) {
    * @return Null if the reader is not or no longer registered.
    */
   private CardReader getReader(String readerName) {
-    for (CardReader reader : readerToReaderManagerMap.keySet()) {
-      if (reader.getName().equals(readerName)) {
-        return reader;
-      }
-    }
-    return null;
+    ReaderManagerAdapter readerManager = registry.getReaderManager(readerName);
+    return readerManager != null ? readerManager.getReader() : null;
   }
 
   /**
@@ -477,10 +1986,7 @@ private CardReader getReader(String readerName) {
    */
   private void onReaderConnected(CardReader reader, Plugin plugin) {
     ReaderManagerAdapter readerManager = registerReader(reader, plugin);
-    for (CardProfileManagerAdapter cardProfileManager :
-        cardProfileNameToCardProfileManagerMap.values()) {
-      cardProfileManager.onReaderConnected(readerManager);
-    }
+    onCardInserted(readerManager, null);
     if (readerManager.isActive()) {
       startMonitoring(reader, plugin);
     } else {
@@ -500,13 +2006,12 @@ private void startMonitoring(CardReader reader, Plugin plugin) {
 
     if (reader instanceof ObservableCardReader) {
 
-      for (ConfiguredPlugin configuredPlugin : configurator.getConfiguredPlugins()) {
+      ConfiguredPlugin configuredPlugin = configurator.getConfiguredPlugin(plugin);
 
-        if (configuredPlugin.getPlugin() == plugin && configuredPlugin.isWithReaderMonitoring()) {
+      if (configuredPlugin != null && configuredPlugin.isWithReaderMonitoring()) {
 
-          logger.info("Card monitoring start requested [reader={}]", reader.getName());
-          startReaderObservation((ObservableCardReader) reader, configuredPlugin);
-        }
+        logger.info("Card monitoring start requested [reader={}]", reader.getName());
+        startReaderObservation((ObservableCardReader) reader, configuredPlugin);
       }
     }
   }
@@ -547,7 +2052,7 @@ private void startReaderObservation(
    * @param plugin The associated plugin.
    */
   private void onReaderDisconnected(CardReader reader, Plugin plugin) {
-    ReaderManagerAdapter readerManager = readerToReaderManagerMap.get(reader);
+    ReaderManagerAdapter readerManager = registry.getReaderManager(reader);
     if (readerManager != null) {
       logger.info(
           "Removing disconnected reader and all associated card resources [reader={}]",
@@ -564,18 +2069,23 @@ private void onReaderDisconnected(CardReader reader, Plugin plugin) {
    */
   @Override
   public void onReaderEvent(CardReaderEvent readerEvent) {
-    if (!isStarted) {
-      return;
-    }
-    CardReader reader = getReader(readerEvent.getReaderName());
-    if (reader != null) {
-      // The reader is registered in the service.
-      synchronized (reader) {
-        ReaderManagerAdapter readerManager = readerToReaderManagerMap.get(reader);
-        if (readerManager != null) {
-          onReaderEvent(readerEvent, readerManager);
+    configurationLock.readLock().lock();
+    try {
+      if (!isStarted) {
+        return;
+      }
+      CardReader reader = getReader(readerEvent.getReaderName());
+      if (reader != null) {
+        // The reader is registered in the service.
+        synchronized (reader) {
+          ReaderManagerAdapter readerManager = registry.getReaderManager(reader);
+          if (readerManager != null && !readerManagersToRemove.contains(readerManager)) {
+            onReaderEvent(readerEvent, readerManager);
+          }
         }
       }
+    } finally {
+      configurationLock.readLock().unlock();
     }
   }
 
@@ -591,7 +2101,11 @@ private void onReaderEvent(CardReaderEvent readerEvent, ReaderManagerAdapter rea
       logger.info(
           "Creating new card resources matching the new card inserted [reader={}]",
           readerManager.getReader().getName());
-      onCardInserted(readerManager);
+      onCardInserted(
+          readerManager,
+          readerEvent.getType() == CardReaderEvent.Type.CARD_MATCHED
+              ? readerEvent.getScheduledCardSelectionsResponse()
+              : null);
     } else {
       logger.info(
           "Removing all card resources caused by a card removal or reader unregistration [reader={}]",
@@ -601,17 +2115,75 @@ private void onReaderEvent(CardReaderEvent readerEvent, ReaderManagerAdapter rea
   }
 
   /**
-   * Invoked when a card is inserted on a reader.<br>
+   * Invoked when a card is inserted on a reader or when a reader is connected.<br>
    * Notifies all card profile managers about the insertion of the card.<br>
-   * Each card profile manager interested in the card reader will try to create a card resource.
+   * Each card profile manager interested in the card reader will try to create a card resource,
+   * reusing the response of the scheduled card selection if provided.
+   *
+   * <p>For the card profile managers whose extension does not support the response of the
+   * scheduled card selection, or without such a response, the card is analysed once for all of
+   * them: their card selections are gathered in a single card selection scenario whose results are
+   * then handed out to each of them.
    *
    * @param readerManager The associated reader manager.
+   * @param scheduledCardSelectionsResponse The response of the scheduled card selection, null if
+   *     none.
    */
-  private void onCardInserted(ReaderManagerAdapter readerManager) {
-    for (CardProfileManagerAdapter cardProfileManager :
-        cardProfileNameToCardProfileManagerMap.values()) {
-      cardProfileManager.onCardInserted(readerManager);
+  private void onCardInserted(
+      ReaderManagerAdapter readerManager,
+      ScheduledCardSelectionsResponse scheduledCardSelectionsResponse) {
+    List<CardProfileManagerAdapter> cardProfileManagers = new ArrayList<>();
+    for (CardProfileManagerAdapter cardProfileManager : getCardProfileManagers(readerManager)) {
+      if (scheduledCardSelectionsResponse != null
+          && cardProfileManager
+              .getCardResourceProfileExtension()
+              .isScheduledCardSelectionsResponseSupported()) {
+        cardProfileManager.onCardInserted(readerManager, scheduledCardSelectionsResponse);
+      } else {
+        cardProfileManagers.add(cardProfileManager);
+      }
+    }
+    if (cardProfileManagers.isEmpty()) {
+      return;
+    }
+    List<CardResourceAdapter> cardResources =
+        matchCardResources(readerManager, cardProfileManagers);
+    for (int i = 0; i < cardProfileManagers.size(); i++) {
+      if (cardResources.get(i) != null) {
+        cardProfileManagers.get(i).addCardResource(cardResources.get(i));
+      }
+    }
+  }
+
+  /**
+   * Gets the card profile managers handling the reader of the provided reader manager, using the
+   * eligibility computed when the reader or the card profile managers were registered.
+   *
+   * @param readerManager The reader manager.
+   * @return A not null list.
+   */
+  private List<CardProfileManagerAdapter> getCardProfileManagers(
+      ReaderManagerAdapter readerManager) {
+    return registry.getEligibleCardProfileManagers(readerManager);
+  }
+
+  /**
+   * Activates the provided reader manager and analyses its card once for all the provided card
+   * profile managers.
+   *
+   * @param readerManager The reader manager.
+   * @param cardProfileManagers The card profile managers handling the reader.
+   * @return A list having the same size than the provided one, containing for each card profile
+   *     manager the matching card resource or null.
+   */
+  private static List<CardResourceAdapter> matchCardResources(
+      ReaderManagerAdapter readerManager, List<CardProfileManagerAdapter> cardProfileManagers) {
+    List<CardResourceProfileExtension> extensions = new ArrayList<>(cardProfileManagers.size());
+    for (CardProfileManagerAdapter cardProfileManager : cardProfileManagers) {
+      extensions.add(cardProfileManager.getCardResourceProfileExtension());
     }
+    readerManager.activate();
+    return readerManager.matches(extensions);
   }
 
   /**
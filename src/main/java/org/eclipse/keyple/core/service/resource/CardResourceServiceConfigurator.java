@@ -72,8 +72,15 @@ CardResourceServiceConfigurator withCardResourceProfiles(
    * <p>By default, the card resource service is configured with a <b>non-blocking</b> allocation
    * mode.
    *
-   * @param cycleDurationMillis The cycle duration (in milliseconds) is the time between two
-   *     attempts to find an available card.
+   * <p>A blocked allocation request is woken up as soon as a card resource is released or created
+   * following a card insertion or a reader connection.
+   *
+   * <p>The allocation mode can be overridden for a given card resource profile (see {@link
+   * CardResourceProfileConfigurator.Builder#withBlockingAllocationMode(int, int)}).
+   *
+   * @param cycleDurationMillis The cycle duration (in milliseconds) is the maximum time between two
+   *     attempts to find an available card when the availability can not be signaled (e.g. pool
+   *     plugins).
    * @param timeoutMillis The timeout (in milliseconds) is the maximum amount of time the allocation
    *     method will attempt to find an available card.
    * @return The current configurator instance.
@@ -84,12 +91,125 @@ CardResourceServiceConfigurator withCardResourceProfiles(
   CardResourceServiceConfigurator withBlockingAllocationMode(
       int cycleDurationMillis, int timeoutMillis);
 
+  /**
+   * Configures the card resource service to serve the waiting allocation requests of each card
+   * resource profile in a first-come-first-served order.
+   *
+   * <p>When this mode is enabled, the card resources becoming available are directly handed over to
+   * the oldest waiting allocation request of the profile, and a new allocation request can not take
+   * a card resource as long as older requests are waiting.
+   *
+   * <p>This mode is only effective with the blocking allocation mode (see {@link
+   * #withBlockingAllocationMode(int, int)}).
+   *
+   * <p>By default, the waiting allocation requests are served in no particular order.
+   *
+   * @return The current configurator instance.
+   * @throws IllegalStateException If this step has already been performed.
+   * @since 3.2.0
+   */
+  CardResourceServiceConfigurator withFairAllocationMode();
+
+  /**
+   * Configures the card resource service to trust, during the provided validity period, the
+   * selection of the card resource currently selected in a reader, so that the card is not selected
+   * again when this card resource is allocated again within this period.
+   *
+   * <p>The selected application is tracked for each reader: allocating another card resource of the
+   * same reader always selects the card again, as well as allocating the current selected card
+   * resource once the validity period has elapsed, which checks that the card has not changed.
+   *
+   * <p>By default, the selection of the current selected card resource is trusted until the removal
+   * of the card, without statistics.
+   *
+   * @param validityMillis The validity period (in milliseconds) of a successful selection.
+   * @return The current configurator instance.
+   * @throws IllegalArgumentException If the provided value is less or equal to 0.
+   * @throws IllegalStateException If the selection cache has already been configured.
+   * @see #withSelectionCacheUntilCardRemoval()
+   * @since 3.2.0
+   */
+  CardResourceServiceConfigurator withSelectionCache(int validityMillis);
+
+  /**
+   * Configures the card resource service to trust the selection of the card resource currently
+   * selected in a reader until the removal of the card, so that the card is not selected again when
+   * this card resource is allocated again.
+   *
+   * <p>As for {@link #withSelectionCache(int)}, allocating another card resource of the same reader
+   * always selects the card again. The card removal can only be detected on observable readers
+   * monitored by the service (see {@link PluginsConfigurator.Builder#addPluginWithMonitoring}), the
+   * selection cache should therefore not be used this way with other readers.
+   *
+   * @return The current configurator instance.
+   * @throws IllegalStateException If the selection cache has already been configured.
+   * @see #withSelectionCache(int)
+   * @since 3.2.0
+   */
+  CardResourceServiceConfigurator withSelectionCacheUntilCardRemoval();
+
+  /**
+   * Configures the card resource service to discover the card resources at start using several
+   * threads, so that the start duration depends on the slowest reader rather than on the sum of
+   * the readers.
+   *
+   * <p>The set up of a reader and the analysis of its card are always performed in this order by a
+   * same thread, but several readers are processed concurrently. The reader configurators and the
+   * card resource profile extensions must therefore support a concurrent use on distinct readers.
+   *
+   * <p>The card resources are added to the profiles in the order of the readers, whatever the order
+   * in which their analysis ends.
+   *
+   * <p>By default, the readers are processed one after the other by the thread starting the
+   * service.
+   *
+   * @param maxThreadCount The maximum number of readers processed concurrently.
+   * @return The current configurator instance.
+   * @throws IllegalArgumentException If the provided value is less or equal to 0.
+   * @throws IllegalStateException If this step has already been performed.
+   * @since 3.2.0
+   */
+  CardResourceServiceConfigurator withParallelDiscovery(int maxThreadCount);
+
+  /**
+   * Configures the card resource service to start progressively: {@link
+   * CardResourceService#start()} returns as soon as the readers are registered, while the card
+   * resources are discovered in background, so that each profile can serve allocation requests as
+   * soon as its first card resources are discovered.
+   *
+   * <p>The readiness of each profile can be followed using {@link
+   * CardResourceService#getCardResourceProfileReadiness(String)}. Until a profile is ready, the
+   * allocation requests wait for its card resources in blocking allocation mode, or get no card
+   * resource in non-blocking allocation mode.
+   *
+   * <p>The background discovery uses the number of threads configured with {@link
+   * #withParallelDiscovery(int)}, one by default. The card resources are added to the profiles in
+   * the order in which their analysis ends. The unused readers are unregistered and the monitoring
+   * of the plugins and readers is started once the discovery is completed.
+   *
+   * <p>By default, {@link CardResourceService#start()} returns once all the card resources are
+   * discovered.
+   *
+   * @return The current configurator instance.
+   * @throws IllegalStateException If this step has already been performed.
+   * @since 3.2.0
+   */
+  CardResourceServiceConfigurator withProgressiveStart();
+
   /**
    * Finalizes the configuration of the card resource service.
    *
    * <p>If the service is already started, the new configuration is applied immediately.<br>
    * Any previous configuration will be overwritten.
    *
+   * <p>When the service is already started, only the plugins and the card resource profiles whose
+   * configuration changed are removed or created: the card resource profiles configured the same
+   * way (same profile configurator parameters and same inherited global parameters) keep their card
+   * resources, and the card resources in use remain valid until released. The cards are only
+   * analysed for the new profiles, as soon as their reader is no longer in use. The service is
+   * however stopped and started again if the selection cache configuration changed or if a
+   * progressive start is still in progress.
+   *
    * <p>If some global configured plugins are not used by any card resource profile, then they are
    * automatically removed from the configuration.
    *
@@ -16,6 +16,7 @@
 import java.util.*;
 import org.eclipse.keyple.core.service.Plugin;
 import org.eclipse.keyple.core.service.PoolPlugin;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceAllocationStrategySpi;
 import org.eclipse.keyple.core.util.Assert;
 
 /**
@@ -28,12 +29,19 @@ final class CardResourceServiceConfiguratorAdapter implements CardResourceServic
   /* Regular plugins */
   private List<Plugin> plugins;
   private List<ConfiguredPlugin> configuredPlugins;
+  private Map<Plugin, ConfiguredPlugin> pluginToConfiguredPluginMap;
   private AllocationStrategy allocationStrategy;
+  private CardResourceAllocationStrategySpi allocationStrategySpi;
+  private boolean isDefaultAllocationStrategy;
   private int usageTimeoutMillis;
 
   /* Pool plugins */
   private List<PoolPlugin> poolPlugins;
   private boolean usePoolFirst;
+  private boolean isHedgedPoolAllocation;
+  private int poolAllocationHedgeDelayMillis;
+  private int warmReserveSize;
+  private int warmReserveLingerTimeMillis;
 
   /* Card resource profiles configurators */
   private final Set<CardResourceProfileConfigurator> cardResourceProfileConfigurators;
@@ -42,6 +50,11 @@ final class CardResourceServiceConfiguratorAdapter implements CardResourceServic
   private boolean isBlockingAllocationMode;
   private int cycleDurationMillis;
   private int timeoutMillis;
+  private boolean isFairAllocationMode;
+  private boolean isSelectionCacheEnabled;
+  private int selectionCacheValidityMillis;
+  private int discoveryThreadCount;
+  private boolean isProgressiveStart;
 
   /**
    * Constructor.
@@ -66,6 +79,8 @@ public CardResourceServiceConfigurator withPlugins(PluginsConfigurator pluginsCo
     plugins = pluginsConfigurator.getPlugins();
     configuredPlugins = pluginsConfigurator.getConfiguredPlugins();
     allocationStrategy = pluginsConfigurator.getAllocationStrategy();
+    allocationStrategySpi = pluginsConfigurator.getAllocationStrategySpi();
+    isDefaultAllocationStrategy = pluginsConfigurator.isDefaultAllocationStrategy();
     usageTimeoutMillis = pluginsConfigurator.getUsageTimeoutMillis();
     return this;
   }
@@ -84,6 +99,10 @@ public CardResourceServiceConfigurator withPoolPlugins(
     }
     poolPlugins = poolPluginsConfigurator.getPoolPlugins();
     usePoolFirst = poolPluginsConfigurator.isUsePoolFirst();
+    isHedgedPoolAllocation = poolPluginsConfigurator.isHedgedAllocation();
+    poolAllocationHedgeDelayMillis = poolPluginsConfigurator.getHedgeDelayMillis();
+    warmReserveSize = poolPluginsConfigurator.getWarmReserveSize();
+    warmReserveLingerTimeMillis = poolPluginsConfigurator.getWarmReserveLingerTimeMillis();
     return this;
   }
 
@@ -127,6 +146,85 @@ public CardResourceServiceConfigurator withBlockingAllocationMode(
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceServiceConfigurator withFairAllocationMode() {
+    if (isFairAllocationMode) {
+      throw new IllegalStateException("Fair allocation mode already configured");
+    }
+    isFairAllocationMode = true;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceServiceConfigurator withSelectionCache(int validityMillis) {
+    Assert.getInstance().greaterOrEqual(validityMillis, 1, "validityMillis");
+    checkSelectionCacheNotConfigured();
+    isSelectionCacheEnabled = true;
+    selectionCacheValidityMillis = validityMillis;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceServiceConfigurator withSelectionCacheUntilCardRemoval() {
+    checkSelectionCacheNotConfigured();
+    isSelectionCacheEnabled = true;
+    selectionCacheValidityMillis = 0;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceServiceConfigurator withParallelDiscovery(int maxThreadCount) {
+    Assert.getInstance().greaterOrEqual(maxThreadCount, 1, "maxThreadCount");
+    if (discoveryThreadCount != 0) {
+      throw new IllegalStateException("Parallel discovery already configured");
+    }
+    discoveryThreadCount = maxThreadCount;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResourceServiceConfigurator withProgressiveStart() {
+    if (isProgressiveStart) {
+      throw new IllegalStateException("Progressive start already configured");
+    }
+    isProgressiveStart = true;
+    return this;
+  }
+
+  /**
+   * @throws IllegalStateException If the selection cache has already been configured.
+   */
+  private void checkSelectionCacheNotConfigured() {
+    if (isSelectionCacheEnabled) {
+      throw new IllegalStateException("Selection cache already configured");
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -186,6 +284,12 @@ public void configure() {
       poolPlugins.removeAll(extractPoolPlugins(unusedPlugins));
     }
 
+    // Index the configured plugins.
+    pluginToConfiguredPluginMap = new HashMap<>(configuredPlugins.size());
+    for (ConfiguredPlugin configuredPlugin : configuredPlugins) {
+      pluginToConfiguredPluginMap.put(configuredPlugin.getPlugin(), configuredPlugin);
+    }
+
     // Apply the configuration.
     CardResourceServiceAdapter.getInstance().configure(this);
   }
@@ -255,6 +359,17 @@ List<ConfiguredPlugin> getConfiguredPlugins() {
     return configuredPlugins;
   }
 
+  /**
+   * Gets the configuration of the provided "regular" plugin.
+   *
+   * @param plugin The plugin.
+   * @return Null if the plugin is not configured.
+   * @since 3.2.0
+   */
+  ConfiguredPlugin getConfiguredPlugin(Plugin plugin) {
+    return pluginToConfiguredPluginMap.get(plugin);
+  }
+
   /**
    * @return A not null reference.
    * @since 2.0.0
@@ -263,6 +378,22 @@ AllocationStrategy getAllocationStrategy() {
     return allocationStrategy;
   }
 
+  /**
+   * @return Null if a basic allocation strategy is used.
+   * @since 3.2.0
+   */
+  CardResourceAllocationStrategySpi getAllocationStrategySpi() {
+    return allocationStrategySpi;
+  }
+
+  /**
+   * @return True if no allocation strategy has been configured for the "regular" plugins.
+   * @since 3.2.0
+   */
+  boolean isDefaultAllocationStrategy() {
+    return isDefaultAllocationStrategy;
+  }
+
   /**
    * @return 0 if no usage timeout is set.
    * @since 2.0.0
@@ -287,6 +418,41 @@ boolean isUsePoolFirst() {
     return usePoolFirst;
   }
 
+  /**
+   * @return True if the readers are requested to several pool plugins concurrently.
+   * @since 3.2.0
+   */
+  boolean isHedgedPoolAllocation() {
+    return isHedgedPoolAllocation;
+  }
+
+  /**
+   * @return The delay before requesting a reader to the next pool plugin in hedged allocation
+   *     mode, 0 if all pool plugins are requested at once.
+   * @since 3.2.0
+   */
+  int getPoolAllocationHedgeDelayMillis() {
+    return poolAllocationHedgeDelayMillis;
+  }
+
+  /**
+   * @return The number of card resources to keep pre-allocated for each card resource profile
+   *     using pool plugins, 0 if no warm reserve is configured.
+   * @since 3.2.0
+   */
+  int getWarmReserveSize() {
+    return warmReserveSize;
+  }
+
+  /**
+   * @return The time during which a released card resource exceeding the warm reserve is kept
+   *     before its reader is released to its pool plugin.
+   * @since 3.2.0
+   */
+  int getWarmReserveLingerTimeMillis() {
+    return warmReserveLingerTimeMillis;
+  }
+
   /**
    * Gets the configurations of all configured card resource profiles.
    *
@@ -320,4 +486,46 @@ int getCycleDurationMillis() {
   int getTimeoutMillis() {
     return timeoutMillis;
   }
+
+  /**
+   * @return True if the waiting allocation requests must be served in a FIFO order.
+   * @since 3.2.0
+   */
+  boolean isFairAllocationMode() {
+    return isFairAllocationMode;
+  }
+
+  /**
+   * @return True if the successful selections of the card resources must be cached.
+   * @since 3.2.0
+   */
+  boolean isSelectionCacheEnabled() {
+    return isSelectionCacheEnabled;
+  }
+
+  /**
+   * @return The validity period (in milliseconds) of a cached selection, 0 if valid until the
+   *     removal of the card.
+   * @since 3.2.0
+   */
+  int getSelectionCacheValidityMillis() {
+    return selectionCacheValidityMillis;
+  }
+
+  /**
+   * @return The maximum number of readers processed concurrently when discovering the card
+   *     resources, 1 by default.
+   * @since 3.2.0
+   */
+  int getDiscoveryThreadCount() {
+    return Math.max(discoveryThreadCount, 1);
+  }
+
+  /**
+   * @return True if the card resources must be discovered in background after the start.
+   * @since 3.2.0
+   */
+  boolean isProgressiveStart() {
+    return isProgressiveStart;
+  }
 }
@@ -0,0 +1,60 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+/**
+ * Live view of the usage statistics of a card resource, provided to the allocation strategies.
+ *
+ * <p>The values are updated by the card resource service each time the card resource is allocated
+ * and released. They are only available for card resources provided by "regular" plugins.
+ *
+ * @since 3.2.0
+ */
+public interface CardResourceUsage {
+
+  /**
+   * Returns the card resource.
+   *
+   * @return A not null reference.
+   * @since 3.2.0
+   */
+  CardResource getCardResource();
+
+  /**
+   * Returns the number of times the card resource has been allocated.
+   *
+   * @return A positive long.
+   * @since 3.2.0
+   */
+  long getAllocationCount();
+
+  /**
+   * Returns the time of the last allocation of the card resource.
+   *
+   * @return The number of milliseconds since the epoch, or 0 if the card resource has never been
+   *     allocated.
+   * @since 3.2.0
+   */
+  long getLastAllocationTimeMillis();
+
+  /**
+   * Returns the smoothed average duration of the usages of the card resource, from its allocation
+   * to its release.
+   *
+   * <p>Recent usages weigh more than older ones, so that the value reflects the current latency of
+   * the transactions performed with the card resource.
+   *
+   * @return 0 if the card resource has never been released.
+   * @since 3.2.0
+   */
+  long getAverageUsageDurationMillis();
+}
@@ -0,0 +1,128 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+/**
+ * Implementation of {@link CardResourceUsage}.
+ *
+ * <p>The values are only updated while holding the monitor of the associated reader and can be read
+ * concurrently.
+ *
+ * @since 3.2.0
+ */
+final class CardResourceUsageAdapter implements CardResourceUsage {
+
+  /** Weight of the last usage in the smoothed average usage duration (1/8). */
+  private static final int AVERAGE_SMOOTHING_SHIFT = 3;
+
+  private final CardResource cardResource;
+  private volatile long allocationCount;
+  private volatile long lastAllocationTimeMillis;
+  private volatile long averageUsageDurationMillis;
+  private boolean isUsageDurationSampled;
+
+  /**
+   * Constructor.
+   *
+   * @param cardResource The associated card resource.
+   * @since 3.2.0
+   */
+  CardResourceUsageAdapter(CardResource cardResource) {
+    this.cardResource = cardResource;
+  }
+
+  /**
+   * Records a new allocation of the card resource.
+   *
+   * @param timeMillis The allocation time.
+   * @since 3.2.0
+   */
+  void onAllocated(long timeMillis) {
+    allocationCount++;
+    lastAllocationTimeMillis = timeMillis;
+  }
+
+  /**
+   * Records the release of the card resource and updates the smoothed average usage duration.
+   *
+   * @param timeMillis The release time.
+   * @since 3.2.0
+   */
+  void onReleased(long timeMillis) {
+    long usageDurationMillis = Math.max(0, timeMillis - lastAllocationTimeMillis);
+    if (isUsageDurationSampled) {
+      averageUsageDurationMillis +=
+          (usageDurationMillis - averageUsageDurationMillis) >> AVERAGE_SMOOTHING_SHIFT;
+    } else {
+      averageUsageDurationMillis = usageDurationMillis;
+      isUsageDurationSampled = true;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResource getCardResource() {
+    return cardResource;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getAllocationCount() {
+    return allocationCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getLastAllocationTimeMillis() {
+    return lastAllocationTimeMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public long getAverageUsageDurationMillis() {
+    return averageUsageDurationMillis;
+  }
+
+  /**
+   * Provides a string representation of the usage statistics.
+   *
+   * @return A non-null string.
+   * @since 3.2.0
+   */
+  @Override
+  public String toString() {
+    return "CardResourceUsageAdapter{"
+        + "allocationCount="
+        + allocationCount
+        + ", lastAllocationTimeMillis="
+        + lastAllocationTimeMillis
+        + ", averageUsageDurationMillis="
+        + averageUsageDurationMillis
+        + '}';
+  }
+}
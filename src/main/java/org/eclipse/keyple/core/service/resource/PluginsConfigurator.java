@@ -15,6 +15,7 @@
 import org.eclipse.keyple.core.service.ObservablePlugin;
 import org.eclipse.keyple.core.service.Plugin;
 import org.eclipse.keyple.core.service.PoolPlugin;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceAllocationStrategySpi;
 import org.eclipse.keyple.core.service.resource.spi.ReaderConfiguratorSpi;
 import org.eclipse.keyple.core.service.spi.PluginObservationExceptionHandlerSpi;
 import org.eclipse.keyple.core.util.Assert;
@@ -28,12 +29,16 @@
 public final class PluginsConfigurator {
 
   private final AllocationStrategy allocationStrategy;
+  private final CardResourceAllocationStrategySpi allocationStrategySpi;
+  private final boolean isDefaultAllocationStrategy;
   private final int usageTimeoutMillis;
   private final List<Plugin> plugins;
   private final List<ConfiguredPlugin> configuredPlugins;
 
   private PluginsConfigurator(Builder builder) {
     allocationStrategy = builder.allocationStrategy;
+    allocationStrategySpi = builder.allocationStrategySpi;
+    isDefaultAllocationStrategy = builder.isDefaultAllocationStrategy;
     usageTimeoutMillis = builder.usageTimeoutMillis;
     plugins = builder.plugins;
     configuredPlugins = builder.configuredPlugins;
@@ -49,6 +54,27 @@ AllocationStrategy getAllocationStrategy() {
     return allocationStrategy;
   }
 
+  /**
+   * Gets the custom or built-in allocation strategy to use instead of the basic ones.
+   *
+   * @return Null if the allocation strategy is {@link AllocationStrategy#FIRST}, {@link
+   *     AllocationStrategy#CYCLIC} or {@link AllocationStrategy#RANDOM}.
+   * @since 3.2.0
+   */
+  CardResourceAllocationStrategySpi getAllocationStrategySpi() {
+    return allocationStrategySpi;
+  }
+
+  /**
+   * Indicates if no allocation strategy has been configured, the default one being used.
+   *
+   * @return True if the default allocation strategy is used.
+   * @since 3.2.0
+   */
+  boolean isDefaultAllocationStrategy() {
+    return isDefaultAllocationStrategy;
+  }
+
   /**
    * Gets the configured usage timeout.
    *
@@ -97,6 +123,8 @@ public static Builder builder() {
   public static final class Builder {
 
     private AllocationStrategy allocationStrategy;
+    private CardResourceAllocationStrategySpi allocationStrategySpi;
+    private boolean isDefaultAllocationStrategy;
     private Integer usageTimeoutMillis;
     private final List<Plugin> plugins;
     private final List<ConfiguredPlugin> configuredPlugins;
@@ -109,7 +137,11 @@ private Builder() {
     /**
      * Specifies the allocation strategy to perform when a card resource is requested.
      *
-     * <p>Default value: {@link AllocationStrategy#FIRST}
+     * <p>Default value: {@link AllocationStrategy#FIRST}, preferring the card resources already
+     * selected in their reader when the reader is shared by several profiles.
+     *
+     * <p>The allocation strategy can be overridden for a given card resource profile (see {@link
+     * CardResourceProfileConfigurator.Builder#withAllocationStrategy(AllocationStrategy)}).
      *
      * @param allocationStrategy The {@link AllocationStrategy} to use.
      * @return The current builder instance.
@@ -119,19 +151,43 @@ private Builder() {
      */
     public Builder withAllocationStrategy(AllocationStrategy allocationStrategy) {
       Assert.getInstance().notNull(allocationStrategy, "allocationStrategy");
-      if (this.allocationStrategy != null) {
+      if (this.allocationStrategy != null || allocationStrategySpi != null) {
         throw new IllegalStateException("Allocation strategy already configured");
       }
       this.allocationStrategy = allocationStrategy;
       return this;
     }
 
+    /**
+     * Specifies a custom allocation strategy to perform when a card resource is requested.
+     *
+     * <p>The strategy selects the card resource to allocate among the idle card resources using
+     * their usage statistics.
+     *
+     * @param allocationStrategySpi The {@link CardResourceAllocationStrategySpi} to use.
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the provided strategy is null.
+     * @throws IllegalStateException If the strategy has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withAllocationStrategy(CardResourceAllocationStrategySpi allocationStrategySpi) {
+      Assert.getInstance().notNull(allocationStrategySpi, "allocationStrategySpi");
+      if (allocationStrategy != null || this.allocationStrategySpi != null) {
+        throw new IllegalStateException("Allocation strategy already configured");
+      }
+      this.allocationStrategySpi = allocationStrategySpi;
+      return this;
+    }
+
     /**
      * Specifies the timeout to use after that an allocated card resource can be automatically
      * re-allocated by card resource service to a new thread if requested.
      *
      * <p>Default value: infinite
      *
+     * <p>The usage timeout can be overridden for a given card resource profile (see {@link
+     * CardResourceProfileConfigurator.Builder#withUsageTimeout(int)}).
+     *
      * @param usageTimeoutMillis The max usage duration of a card resource (in milliseconds).
      * @return The current builder instance.
      * @throws IllegalArgumentException If the provided value is less or equal to 0.
@@ -227,8 +283,13 @@ public PluginsConfigurator build() {
       if (plugins.isEmpty()) {
         throw new IllegalStateException("No plugin was configured");
       }
-      if (allocationStrategy == null) {
+      if (allocationStrategySpi != null) {
+        allocationStrategy = AllocationStrategy.FIRST; // Fallback of the custom strategy
+      } else if (allocationStrategy == null) {
         allocationStrategy = AllocationStrategy.FIRST;
+        isDefaultAllocationStrategy = true;
+      } else {
+        allocationStrategySpi = UsageBasedAllocationStrategyAdapter.getInstance(allocationStrategy);
       }
       if (usageTimeoutMillis == null) {
         usageTimeoutMillis = 0; // Infinite
@@ -266,7 +327,31 @@ public enum AllocationStrategy {
      *
      * @since 2.0.0
      */
-    RANDOM
+    RANDOM,
+
+    /**
+     * Configures the card resource service to provide the available card that has been allocated
+     * the least recently, to spread the usage over time.
+     *
+     * @since 3.2.0
+     */
+    LEAST_RECENTLY_USED,
+
+    /**
+     * Configures the card resource service to provide the available card that has been allocated
+     * the fewest times, to even out the wear of the cards and readers.
+     *
+     * @since 3.2.0
+     */
+    LEAST_USED,
+
+    /**
+     * Configures the card resource service to provide the available card having the lowest
+     * observed average usage duration, to avoid that the slowest cards dominate the latency.
+     *
+     * @since 3.2.0
+     */
+    FASTEST
   }
 
   /**
@@ -360,5 +445,24 @@ boolean isWithReaderMonitoring() {
     CardReaderObservationExceptionHandlerSpi getReaderObservationExceptionHandlerSpi() {
       return readerObservationExceptionHandlerSpi;
     }
+
+    /**
+     * Indicates if the provided configured plugin has the same plugin and the same parameters than
+     * this one.
+     *
+     * @param configuredPlugin The configured plugin to compare.
+     * @return True if they are configured the same way.
+     * @since 3.2.0
+     */
+    boolean hasSameConfiguration(ConfiguredPlugin configuredPlugin) {
+      return plugin == configuredPlugin.plugin
+          && readerConfiguratorSpi == configuredPlugin.readerConfiguratorSpi
+          && withPluginMonitoring == configuredPlugin.withPluginMonitoring
+          && pluginObservationExceptionHandlerSpi
+              == configuredPlugin.pluginObservationExceptionHandlerSpi
+          && withReaderMonitoring == configuredPlugin.withReaderMonitoring
+          && readerObservationExceptionHandlerSpi
+              == configuredPlugin.readerObservationExceptionHandlerSpi;
+    }
   }
 }
@@ -25,10 +25,18 @@ public final class PoolPluginsConfigurator {
 
   private final boolean usePoolFirst;
   private final List<PoolPlugin> poolPlugins;
+  private final boolean isHedgedAllocation;
+  private final int hedgeDelayMillis;
+  private final int warmReserveSize;
+  private final int warmReserveLingerTimeMillis;
 
   private PoolPluginsConfigurator(Builder builder) {
     usePoolFirst = builder.usePoolFirst;
     poolPlugins = builder.poolPlugins;
+    isHedgedAllocation = builder.hedgeDelayMillis != null;
+    hedgeDelayMillis = isHedgedAllocation ? builder.hedgeDelayMillis : 0;
+    warmReserveSize = builder.warmReserveSize != null ? builder.warmReserveSize : 0;
+    warmReserveLingerTimeMillis = builder.warmReserveLingerTimeMillis;
   }
 
   /**
@@ -49,6 +57,41 @@ List<PoolPlugin> getPoolPlugins() {
     return poolPlugins;
   }
 
+  /**
+   * @return True if the readers are requested to several pool plugins concurrently.
+   * @since 3.2.0
+   */
+  boolean isHedgedAllocation() {
+    return isHedgedAllocation;
+  }
+
+  /**
+   * @return The delay before requesting a reader to the next pool plugin in hedged allocation
+   *     mode, 0 if all pool plugins are requested at once.
+   * @since 3.2.0
+   */
+  int getHedgeDelayMillis() {
+    return hedgeDelayMillis;
+  }
+
+  /**
+   * @return The number of card resources to keep pre-allocated for each card resource profile
+   *     using pool plugins, 0 if no warm reserve is configured.
+   * @since 3.2.0
+   */
+  int getWarmReserveSize() {
+    return warmReserveSize;
+  }
+
+  /**
+   * @return The time during which a released card resource exceeding the warm reserve is kept
+   *     before its reader is released to its pool plugin.
+   * @since 3.2.0
+   */
+  int getWarmReserveLingerTimeMillis() {
+    return warmReserveLingerTimeMillis;
+  }
+
   /**
    * Gets the configurator's builder to use in order to create a new instance.
    *
@@ -68,6 +111,9 @@ public static final class Builder {
 
     private Boolean usePoolFirst;
     private final List<PoolPlugin> poolPlugins;
+    private Integer hedgeDelayMillis;
+    private Integer warmReserveSize;
+    private int warmReserveLingerTimeMillis;
 
     private Builder() {
       poolPlugins = new ArrayList<>(1);
@@ -91,6 +137,72 @@ public Builder usePoolFirst() {
       return this;
     }
 
+    /**
+     * Configures the card resource service to request a reader to the next pool plugin when the
+     * previous ones have not provided a matching card within the provided hedge delay, instead of
+     * waiting for them.
+     *
+     * <p>The first matching card provided is allocated, the readers provided later by the other
+     * pool plugins are released. A pool plugin failing or providing no matching card makes the
+     * next one requested immediately. With a hedge delay of 0, all pool plugins are requested at
+     * once.
+     *
+     * <p>This mode reduces the allocation time when a pool plugin, typically a remote server, is
+     * slow to respond, at the cost of extra requests to the other pool plugins.
+     *
+     * <p>Default value: the pool plugins are requested one after the other.
+     *
+     * @param hedgeDelayMillis The delay (in milliseconds) before requesting the next pool plugin.
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the provided value is negative.
+     * @throws IllegalStateException If the setting has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withHedgedAllocation(int hedgeDelayMillis) {
+      Assert.getInstance().greaterOrEqual(hedgeDelayMillis, 0, "hedgeDelayMillis");
+      if (this.hedgeDelayMillis != null) {
+        throw new IllegalStateException("Hedged allocation already configured");
+      }
+      this.hedgeDelayMillis = hedgeDelayMillis;
+      return this;
+    }
+
+    /**
+     * Configures the card resource service to keep, for each card resource profile using pool
+     * plugins, a warm reserve of card resources whose reader is already allocated from a pool
+     * plugin and whose card already matches the profile, so that an allocation from the reserve
+     * requires no request to the pool plugins.
+     *
+     * <p>The reserve is refilled in background after each allocation from it. A released card
+     * resource returns to the reserve if it is not full, otherwise it is kept during the provided
+     * linger time, allowing a new allocation to reuse it, before its reader is released to its
+     * pool plugin. A card resource reclaimed after a usage timeout is always released to its pool
+     * plugin. The readers of the reserve are assumed to keep their card until they are released.
+     *
+     * <p>Default value: no warm reserve, each allocation requests a reader to the pool plugins and
+     * each release gives it back immediately.
+     *
+     * @param readerCount The number of card resources to keep in the reserve of each profile.
+     * @param lingerTimeMillis The time (in milliseconds) during which a released card resource
+     *     exceeding the reserve is kept, 0 to release it immediately.
+     * @return The current builder instance.
+     * @throws IllegalArgumentException If the reader count is less than 1 or if the linger time is
+     *     negative.
+     * @throws IllegalStateException If the setting has already been configured.
+     * @since 3.2.0
+     */
+    public Builder withWarmReserve(int readerCount, int lingerTimeMillis) {
+      Assert.getInstance()
+          .greaterOrEqual(readerCount, 1, "readerCount")
+          .greaterOrEqual(lingerTimeMillis, 0, "lingerTimeMillis");
+      if (warmReserveSize != null) {
+        throw new IllegalStateException("Warm reserve already configured");
+      }
+      warmReserveSize = readerCount;
+      warmReserveLingerTimeMillis = lingerTimeMillis;
+      return this;
+    }
+
     /**
      * Adds a {@link PoolPlugin} to the default list of all card profiles.
      *
@@ -11,16 +11,24 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service.resource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
 import org.eclipse.keyple.core.service.Plugin;
 import org.eclipse.keyple.core.service.SmartCardServiceProvider;
 import org.eclipse.keyple.core.service.resource.spi.CardResourceProfileExtension;
 import org.eclipse.keyple.core.service.resource.spi.ReaderConfiguratorSpi;
 import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.ReaderApiFactory;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.reader.selection.ScheduledCardSelectionsResponse;
 import org.eclipse.keypop.reader.selection.spi.IsoSmartCard;
 import org.eclipse.keypop.reader.selection.spi.SmartCard;
 import org.slf4j.Logger;
@@ -47,54 +55,80 @@ final class ReaderManagerAdapter {
   /** The associated plugin */
   private final Plugin plugin;
 
-  /** Collection of all created card resources. */
-  private final Set<CardResourceAdapter> cardResources;
+  /** All created card resources with their usage statistics. */
+  private final Map<CardResourceAdapter, CardResourceUsageAdapter> cardResourceUsages;
 
   /** The reader configurator, not null if the monitoring is activated for the associated reader. */
   private final ReaderConfiguratorSpi readerConfiguratorSpi;
 
-  /** The max usage duration of a card resource before it will be automatically release. */
-  private final int usageTimeoutMillis;
-
   /**
-   * Indicates the time after which the reader will be automatically unlocked if a new lock is
-   * requested.
+   * The lock state: the lease of the card resource in use, or null if the reader is free.
+   *
+   * <p>The transitions are performed by CAS while holding the reader monitor, and the state can be
+   * read without locking.
    */
-  private long lockMaxTimeMillis;
-
-  /** Current selected card resource. */
-  private CardResource selectedCardResource;
+  private final AtomicReference<CardResourceLeaseAdapter> currentLease;
 
-  /** Indicates if a card resource is actually in use. */
-  private volatile boolean isBusy;
+  /**
+   * Current selected card resource (updated while holding the reader monitor, read without it by
+   * the allocation to prefer the card resources not requiring a new selection).
+   */
+  private volatile CardResource selectedCardResource;
 
   /** Indicates if the associated reader is accepted by at least one card profile manager. */
   private volatile boolean isActive;
 
+  /**
+   * The indexes of the card profile managers handling the reader in the registry of the service
+   * (never modified once set, replaced on each update).
+   */
+  private volatile BitSet eligibleCardProfileManagerIndexes;
+
+  /**
+   * The card resources to give back to their card profile manager when the reader is unlocked: the
+   * one in use and those found busy by other allocation requests (guarded by the reader monitor).
+   */
+  private final List<PendingCardResource> pendingCardResources;
+
+  /** True if the selection of the current selected card resource is cached. */
+  private final boolean isSelectionCacheEnabled;
+
+  /** The validity period of a cached selection, 0 if valid until the removal of the card. */
+  private final int selectionCacheValidityMillis;
+
+  /** The time of the successful selection of the current selected card resource. */
+  private long selectionTimeMillis;
+
   /**
    * Creates a new reader manager not active by default.
    *
    * @param reader The associated reader.
    * @param plugin The associated plugin.
    * @param readerConfiguratorSpi The reader configurator to use.
-   * @param usageTimeoutMillis The max usage duration of a card resource before it will be
-   *     automatically release (0 for infinite timeout).
+   * @param isSelectionCacheEnabled True if the selection of the current selected card resource
+   *     must be cached.
+   * @param selectionCacheValidityMillis The validity period of a cached selection, 0 if valid
+   *     until the removal of the card.
    * @since 2.0.0
    */
   ReaderManagerAdapter(
       CardReader reader,
       Plugin plugin,
       ReaderConfiguratorSpi readerConfiguratorSpi,
-      int usageTimeoutMillis) {
+      boolean isSelectionCacheEnabled,
+      int selectionCacheValidityMillis) {
     this.reader = reader;
     readerExtension = plugin.getReaderExtension(KeypleReaderExtension.class, reader.getName());
     this.plugin = plugin;
     this.readerConfiguratorSpi = readerConfiguratorSpi;
-    this.usageTimeoutMillis = usageTimeoutMillis;
-    cardResources = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    cardResourceUsages = new ConcurrentHashMap<>();
     selectedCardResource = null;
-    isBusy = false;
+    currentLease = new AtomicReference<>();
     isActive = false;
+    eligibleCardProfileManagerIndexes = new BitSet();
+    pendingCardResources = new ArrayList<>(1);
+    this.isSelectionCacheEnabled = isSelectionCacheEnabled;
+    this.selectionCacheValidityMillis = selectionCacheValidityMillis;
   }
 
   /**
@@ -124,7 +158,63 @@ Plugin getPlugin() {
    * @since 2.0.0
    */
   Set<CardResourceAdapter> getCardResources() {
-    return cardResources;
+    return cardResourceUsages.keySet();
+  }
+
+  /**
+   * Gets the usage statistics of the provided card resource.
+   *
+   * @param cardResource The card resource.
+   * @return Null if the card resource is not managed by this reader manager.
+   * @since 3.2.0
+   */
+  CardResourceUsage getCardResourceUsage(CardResourceAdapter cardResource) {
+    return cardResourceUsages.get(cardResource);
+  }
+
+  /**
+   * Indicates if the provided card resource is the current selected one, i.e. if it can be locked
+   * without selecting the card again.
+   *
+   * @param cardResource The card resource.
+   * @return True if the provided card resource is the current selected one.
+   * @since 3.2.0
+   */
+  boolean isSelected(CardResource cardResource) {
+    return selectedCardResource == cardResource;
+  }
+
+  /**
+   * Indicates if the reader is shared by several card resources, i.e. by several card resource
+   * profiles selecting different applications of the card.
+   *
+   * @return True if the reader has more than one card resource.
+   * @since 3.2.0
+   */
+  boolean isShared() {
+    return cardResourceUsages.size() > 1;
+  }
+
+  /**
+   * Gets the indexes of the card profile managers handling the reader in the registry of the
+   * service.
+   *
+   * @return A not null bitset which must not be modified.
+   * @since 3.2.0
+   */
+  BitSet getEligibleCardProfileManagerIndexes() {
+    return eligibleCardProfileManagerIndexes;
+  }
+
+  /**
+   * Sets the indexes of the card profile managers handling the reader in the registry of the
+   * service.
+   *
+   * @param eligibleCardProfileManagerIndexes The new bitset, no longer modified by the caller.
+   * @since 3.2.0
+   */
+  void setEligibleCardProfileManagerIndexes(BitSet eligibleCardProfileManagerIndexes) {
+    this.eligibleCardProfileManagerIndexes = eligibleCardProfileManagerIndexes;
   }
 
   /**
@@ -153,73 +243,378 @@ void activate() {
    * Gets a new or an existing card resource if the current inserted card matches with the provided
    * card resource profile extension.
    *
-   * <p>If the card matches, then updates the current selected card resource.
+   * <p>If the response of the scheduled card selection is provided and supported by the extension,
+   * then it is passed to the extension to avoid a new selection of the card.
+   *
+   * <p>Updates the current selected card resource, which becomes unknown if the card does not
+   * match.
    *
    * <p>In any case, invoking this method unlocks the reader due to the use of the card selection
    * manager by the extension during the match process.
    *
    * @param extension The card resource profile extension to use for matching.
+   * @param scheduledCardSelectionsResponse The response of the scheduled card selection carried by
+   *     the reader event, null if none.
    * @return Null if the inserted card does not match with the provided profile extension.
    * @since 2.0.0
    */
-  CardResourceAdapter matches(CardResourceProfileExtension extension) {
+  CardResourceAdapter matches(
+      CardResourceProfileExtension extension,
+      ScheduledCardSelectionsResponse scheduledCardSelectionsResponse) {
     CardResourceAdapter cardResource = null;
+    ReaderApiFactory readerApiFactory = SmartCardServiceProvider.getService().getReaderApiFactory();
     SmartCard smartCard =
-        extension.matches(reader, SmartCardServiceProvider.getService().getReaderApiFactory());
+        scheduledCardSelectionsResponse != null
+                && extension.isScheduledCardSelectionsResponseSupported()
+            ? extension.matches(reader, scheduledCardSelectionsResponse, readerApiFactory)
+            : extension.matches(reader, readerApiFactory);
     if (smartCard != null) {
       cardResource = getOrCreateCardResource(smartCard);
-      selectedCardResource = cardResource;
     }
+    onCardResourceSelected(cardResource, System.currentTimeMillis());
     unlock();
     return cardResource;
   }
 
+  /**
+   * Gets for each of the provided card resource profile extensions a new or an existing card
+   * resource if the current inserted card matches with it, analysing the card once for all of them.
+   *
+   * <p>The card selections prepared by the extensions are processed in a single card selection
+   * scenario, in multiple selection mode, whose results are handed out to each extension. The
+   * extensions having prepared no card selection analyse then the card separately.
+   *
+   * <p>As the application selected after a shared card selection scenario is not known, the
+   * current selected card resource results from the last separate analysis of the card, if any.
+   *
+   * <p>In any case, invoking this method unlocks the reader due to the use of the card selection
+   * manager by the extensions during the match process.
+   *
+   * @param extensions The card resource profile extensions to use for matching.
+   * @return A list having the same size than the provided one, containing for each extension the
+   *     matching card resource or null.
+   * @since 3.2.0
+   */
+  List<CardResourceAdapter> matches(List<CardResourceProfileExtension> extensions) {
+    ReaderApiFactory readerApiFactory = SmartCardServiceProvider.getService().getReaderApiFactory();
+    CardSelectionManager cardSelectionManager = readerApiFactory.createCardSelectionManager();
+    cardSelectionManager.setMultipleSelectionMode();
+    int[] cardSelectionCounts = new int[extensions.size()];
+    int totalCardSelectionCount = 0;
+    for (int i = 0; i < extensions.size(); i++) {
+      cardSelectionCounts[i] =
+          extensions.get(i).prepareCardSelections(cardSelectionManager, readerApiFactory);
+      totalCardSelectionCount += cardSelectionCounts[i];
+    }
+    Map<Integer, SmartCard> selectedSmartCards = null;
+    if (totalCardSelectionCount != 0) {
+      try {
+        selectedSmartCards =
+            cardSelectionManager.processCardSelectionScenario(reader).getSmartCards();
+      } catch (RuntimeException e) {
+        logger.warn(
+            "Shared card selection failed, card analysed by each profile [reader={}, reason={}]",
+            reader.getName(),
+            e.getMessage());
+      }
+    }
+    List<CardResourceAdapter> cardResources = new ArrayList<>(extensions.size());
+    setSelectedCardResource(null);
+    int cardSelectionIndex = 0;
+    for (int i = 0; i < extensions.size(); i++) {
+      CardResourceProfileExtension extension = extensions.get(i);
+      SmartCard smartCard;
+      boolean isSharedSelection = cardSelectionCounts[i] != 0 && selectedSmartCards != null;
+      if (isSharedSelection) {
+        List<SmartCard> extensionSmartCards = new ArrayList<>(cardSelectionCounts[i]);
+        for (int j = 0; j < cardSelectionCounts[i]; j++) {
+          extensionSmartCards.add(selectedSmartCards.get(cardSelectionIndex + j));
+        }
+        smartCard = extension.matches(reader, extensionSmartCards);
+      } else {
+        smartCard = extension.matches(reader, readerApiFactory);
+      }
+      cardSelectionIndex += cardSelectionCounts[i];
+      CardResourceAdapter cardResource = null;
+      if (smartCard != null) {
+        cardResource = getOrCreateCardResource(smartCard);
+      }
+      if (!isSharedSelection) {
+        onCardResourceSelected(cardResource, System.currentTimeMillis());
+      }
+      cardResources.add(cardResource);
+    }
+    unlock();
+    return cardResources;
+  }
+
   /**
    * Tries to lock the provided card resource if the reader is not busy.
    *
-   * <p>If the provided card resource is not the current selected one, then tries to select it using
-   * the provided card resource profile extension.
+   * <p>If the reader is busy but the usage timeout of the current lease is exceeded and the lease
+   * has not yet been reclaimed by the service, then the reader is taken over and the current lease
+   * becomes stale.
+   *
+   * <p>If the provided card resource is not the current selected one, or if the selection cache is
+   * enabled and its validity period has elapsed, then tries to select it using the card resource
+   * profile extension of the provided card profile manager.
+   *
+   * <p>The usage timeout of the new lease is the one of the profile of the provided card profile
+   * manager.
+   *
+   * <p>Whatever the result, except in case of exception, the card resource will be given back to
+   * the provided card profile manager when the reader is unlocked.
+   *
+   * <p>This method must be invoked while holding the reader monitor.
    *
    * @param cardResource The card resource to lock.
-   * @param extension The card resource profile extension to use in case if a new selection is
-   *     needed.
-   * @return True if the card resource is locked.
+   * @param cardProfileManager The card profile manager requesting the card resource.
+   * @return Null if the reader is busy.
    * @throws IllegalStateException If a new selection has been made and the current card does not
    *     match the provided profile extension or is not the same smart card than the provided one.
    * @since 2.0.0
    */
-  boolean lock(CardResource cardResource, CardResourceProfileExtension extension) {
-    if (isBusy) {
-      if (usageTimeoutMillis == 0 || System.currentTimeMillis() < lockMaxTimeMillis) {
-        return false;
+  CardResourceLeaseAdapter lock(
+      CardResourceAdapter cardResource, CardProfileManagerAdapter cardProfileManager) {
+    long nowMillis = System.currentTimeMillis();
+    CardResourceLeaseAdapter lease = currentLease.get();
+    if (lease != null) {
+      if (!lease.isExpired(nowMillis)) {
+        addPendingCardResource(cardResource, cardProfileManager);
+        return null;
       }
       logger.warn(
           "Reader automatically unlocked due to a usage timeout exceeded [reader={}, usageTimeoutMs={}]",
           reader.getName(),
-          usageTimeoutMillis);
+          lease.getUsageTimeoutMillis());
     }
-    if (selectedCardResource != cardResource) {
+    if (isSelectionValid(cardResource, nowMillis)) {
+      if (isSelectionCacheEnabled) {
+        cardProfileManager.getStatistics().onSelectionCacheHit();
+      }
+    } else {
+      if (isSelectionCacheEnabled) {
+        cardProfileManager.getStatistics().onSelectionCacheMiss();
+      }
       SmartCard smartCard =
-          extension.matches(reader, SmartCardServiceProvider.getService().getReaderApiFactory());
+          cardProfileManager
+              .getCardResourceProfileExtension()
+              .matches(reader, SmartCardServiceProvider.getService().getReaderApiFactory());
       if (!areEquals(cardResource.getSmartCard(), smartCard)) {
-        selectedCardResource = null;
+        setSelectedCardResource(null);
         throw new IllegalStateException(
             "No card is inserted or its profile does not match the associated data");
       }
-      selectedCardResource = cardResource;
+      onCardResourceSelected(cardResource, nowMillis);
     }
-    lockMaxTimeMillis = System.currentTimeMillis() + usageTimeoutMillis;
-    isBusy = true;
-    return true;
+    CardResourceUsageAdapter cardResourceUsage = cardResourceUsages.get(cardResource);
+    CardResourceLeaseAdapter newLease =
+        new CardResourceLeaseAdapter(
+            cardResource,
+            this,
+            cardProfileManager,
+            cardResourceUsage,
+            cardProfileManager.getUsageTimeoutMillis(),
+            nowMillis);
+    if (!currentLease.compareAndSet(lease, newLease)) {
+      addPendingCardResource(cardResource, cardProfileManager);
+      return null;
+    }
+    if (lease != null) {
+      onLeaseEnded(lease, nowMillis);
+    }
+    if (cardResourceUsage != null) {
+      cardResourceUsage.onAllocated(nowMillis);
+    }
+    if (newLease.getUsageTimeoutMillis() != 0) {
+      CardResourceServiceAdapter.getInstance().registerExpirableLease(newLease);
+    }
+    addPendingCardResource(cardResource, cardProfileManager);
+    return newLease;
   }
 
   /**
-   * Free the reader.
+   * Indicates if the provided card resource is the current selected one and, if the selection
+   * cache is enabled, if its selection is still valid.
+   *
+   * <p>The selected application of the card is identified by the current selected card resource:
+   * another card resource of the reader always requires a new selection.
+   *
+   * @param cardResource The card resource.
+   * @param nowMillis The current time.
+   * @return True if the card does not need to be selected again.
+   */
+  private boolean isSelectionValid(CardResource cardResource, long nowMillis) {
+    return selectedCardResource == cardResource
+        && (!isSelectionCacheEnabled
+            || selectionCacheValidityMillis == 0
+            || nowMillis - selectionTimeMillis < selectionCacheValidityMillis);
+  }
+
+  /**
+   * Records the provided card resource as the current selected one, after a selection of the card.
+   *
+   * @param cardResource The selected card resource, null if the selection failed.
+   * @param nowMillis The selection time.
+   */
+  private void onCardResourceSelected(CardResource cardResource, long nowMillis) {
+    setSelectedCardResource(cardResource);
+    selectionTimeMillis = nowMillis;
+  }
+
+  /**
+   * Indicates if the reader is currently locked, whether its lease is still valid or not.
+   *
+   * @return True if a lease is in progress.
+   * @since 3.2.0
+   */
+  boolean isLocked() {
+    return currentLease.get() != null;
+  }
+
+  /**
+   * Indicates if the reader is locked by the provided lease.
+   *
+   * @param lease The lease.
+   * @return True if the provided lease is the current one.
+   * @since 3.2.0
+   */
+  boolean isLockedBy(CardResourceLeaseAdapter lease) {
+    return currentLease.get() == lease;
+  }
+
+  /**
+   * Registers a card resource to give back to the provided card profile manager when the reader is
+   * unlocked, unless already registered.
+   *
+   * <p>This method must be invoked while holding the reader monitor.
+   *
+   * @param cardResource The card resource.
+   * @param cardProfileManager The card profile manager.
+   */
+  private void addPendingCardResource(
+      CardResourceAdapter cardResource, CardProfileManagerAdapter cardProfileManager) {
+    for (PendingCardResource pendingCardResource : pendingCardResources) {
+      if (pendingCardResource.cardResource == cardResource
+          && pendingCardResource.cardProfileManager == cardProfileManager) {
+        return;
+      }
+    }
+    pendingCardResources.add(new PendingCardResource(cardResource, cardProfileManager));
+  }
+
+  /**
+   * Records the end of the provided lease in the usage statistics of its card resource and notifies
+   * the service.
+   *
+   * @param lease The ended lease.
+   * @param nowMillis The end time.
+   */
+  private static void onLeaseEnded(CardResourceLeaseAdapter lease, long nowMillis) {
+    if (lease.getCardResourceUsage() != null) {
+      lease.getCardResourceUsage().onReleased(nowMillis);
+    }
+    CardResourceServiceAdapter.getInstance().onLeaseEnded(lease);
+  }
+
+  /**
+   * Free the reader whatever its current lease.
    *
    * @since 2.0.0
    */
   void unlock() {
-    isBusy = false;
+    List<PendingCardResource> givenBackCardResources;
+    synchronized (reader) {
+      givenBackCardResources = onUnlocked(currentLease.getAndSet(null));
+    }
+    giveBack(givenBackCardResources, null);
+  }
+
+  /**
+   * Free the reader unless it is locked for another card resource than the provided one, gives
+   * back the pending card resources to their card profile manager and signals their availability.
+   *
+   * @param cardResource The card resource to release.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   * @since 3.2.0
+   */
+  void unlock(CardResource cardResource, CardProfileManagerAdapter cardProfileManagerToSkip) {
+    List<PendingCardResource> givenBackCardResources;
+    synchronized (reader) {
+      CardResourceLeaseAdapter lease = currentLease.get();
+      if (lease != null && lease.getCardResource() != cardResource) {
+        return;
+      }
+      currentLease.set(null);
+      givenBackCardResources = onUnlocked(lease);
+    }
+    giveBack(givenBackCardResources, cardProfileManagerToSkip);
+  }
+
+  /**
+   * Free the reader if it is locked by the provided lease, gives back the pending card resources to
+   * their card profile manager and signals their availability.
+   *
+   * @param lease The lease to release.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   * @return False if the provided lease is stale.
+   * @since 3.2.0
+   */
+  boolean unlock(
+      CardResourceLeaseAdapter lease, CardProfileManagerAdapter cardProfileManagerToSkip) {
+    List<PendingCardResource> givenBackCardResources;
+    synchronized (reader) {
+      if (!currentLease.compareAndSet(lease, null)) {
+        return false;
+      }
+      givenBackCardResources = onUnlocked(lease);
+    }
+    giveBack(givenBackCardResources, cardProfileManagerToSkip);
+    return true;
+  }
+
+  /**
+   * Ends the provided lease and takes the pending card resources.
+   *
+   * <p>This method must be invoked while holding the reader monitor.
+   *
+   * @param lease The ended lease, null if none.
+   * @return Null if there is no pending card resource.
+   */
+  private List<PendingCardResource> onUnlocked(CardResourceLeaseAdapter lease) {
+    if (lease != null) {
+      onLeaseEnded(lease, System.currentTimeMillis());
+    }
+    if (pendingCardResources.isEmpty()) {
+      return null;
+    }
+    List<PendingCardResource> givenBackCardResources = new ArrayList<>(pendingCardResources);
+    pendingCardResources.clear();
+    return givenBackCardResources;
+  }
+
+  /**
+   * Gives back the provided card resources to their card profile manager and signals their
+   * availability.
+   *
+   * @param givenBackCardResources The card resources to give back, null if none.
+   * @param cardProfileManagerToSkip The card profile manager not to signal, null to signal all.
+   */
+  private static void giveBack(
+      List<PendingCardResource> givenBackCardResources,
+      CardProfileManagerAdapter cardProfileManagerToSkip) {
+    if (givenBackCardResources == null) {
+      return;
+    }
+    Set<CardProfileManagerAdapter> cardProfileManagersToSignal = new LinkedHashSet<>(1);
+    for (PendingCardResource pendingCardResource : givenBackCardResources) {
+      pendingCardResource.cardProfileManager.addIdleCardResource(pendingCardResource.cardResource);
+      cardProfileManagersToSignal.add(pendingCardResource.cardProfileManager);
+    }
+    cardProfileManagersToSignal.remove(cardProfileManagerToSkip);
+    for (CardProfileManagerAdapter cardProfileManager : cardProfileManagersToSignal) {
+      cardProfileManager.signalCardResourceAvailable();
+    }
   }
 
   /**
@@ -229,9 +624,32 @@ void unlock() {
    * @since 2.0.0
    */
   void removeCardResource(CardResource cardResource) {
-    cardResources.remove(cardResource);
+    cardResourceUsages.remove(cardResource);
     if (selectedCardResource == cardResource) {
-      selectedCardResource = null;
+      setSelectedCardResource(null);
+    }
+  }
+
+  /**
+   * Updates the current selected card resource and notifies the change to the card profile
+   * managers, which ignore the card resources they do not reference.
+   *
+   * @param cardResource The new selected card resource, null if none.
+   */
+  private void setSelectedCardResource(CardResource cardResource) {
+    CardResource previousSelectedCardResource = selectedCardResource;
+    if (previousSelectedCardResource == cardResource) {
+      return;
+    }
+    selectedCardResource = cardResource;
+    for (CardProfileManagerAdapter cardProfileManager :
+        CardResourceServiceAdapter.getInstance().getCardProfileManagers()) {
+      if (previousSelectedCardResource != null) {
+        cardProfileManager.onCardResourceSelectionChanged(previousSelectedCardResource, false);
+      }
+      if (cardResource != null) {
+        cardProfileManager.onCardResourceSelectionChanged(cardResource, true);
+      }
     }
   }
 
@@ -245,7 +663,7 @@ void removeCardResource(CardResource cardResource) {
   private CardResourceAdapter getOrCreateCardResource(SmartCard smartCard) {
 
     // Check if an identical card resource is already created.
-    for (CardResourceAdapter cardResource : cardResources) {
+    for (CardResourceAdapter cardResource : cardResourceUsages.keySet()) {
       if (areEquals(cardResource.getSmartCard(), smartCard)) {
         return cardResource;
       }
@@ -253,7 +671,7 @@ private CardResourceAdapter getOrCreateCardResource(SmartCard smartCard) {
 
     // If none, then create a new one.
     CardResourceAdapter cardResource = new CardResourceAdapter(reader, readerExtension, smartCard);
-    cardResources.add(cardResource);
+    cardResourceUsages.put(cardResource, new CardResourceUsageAdapter(cardResource));
     return cardResource;
   }
 
@@ -290,4 +708,21 @@ private static boolean areEquals(SmartCard s1, SmartCard s2) {
 
     return hasSamePowerOnData && hasSameFci;
   }
+
+  /**
+   * A card resource to give back to a card profile manager when the reader is unlocked.
+   *
+   * @since 3.2.0
+   */
+  private static final class PendingCardResource {
+
+    private final CardResourceAdapter cardResource;
+    private final CardProfileManagerAdapter cardProfileManager;
+
+    private PendingCardResource(
+        CardResourceAdapter cardResource, CardProfileManagerAdapter cardProfileManager) {
+      this.cardResource = cardResource;
+      this.cardProfileManager = cardProfileManager;
+    }
+  }
 }
@@ -0,0 +1,93 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import java.util.Comparator;
+import java.util.List;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceAllocationStrategySpi;
+
+/**
+ * Built-in allocation strategy selecting the idle card resource having the lowest value of a usage
+ * statistic.
+ *
+ * <p>In case of equality, the least used card resource is selected, then the first one.
+ *
+ * @since 3.2.0
+ */
+final class UsageBasedAllocationStrategyAdapter implements CardResourceAllocationStrategySpi {
+
+  /* The stateless built-in strategies, shared by all the configurations using them */
+  private static final UsageBasedAllocationStrategyAdapter LEAST_RECENTLY_USED =
+      new UsageBasedAllocationStrategyAdapter(
+          Comparator.comparingLong(CardResourceUsage::getLastAllocationTimeMillis)
+              .thenComparingLong(CardResourceUsage::getAllocationCount));
+  private static final UsageBasedAllocationStrategyAdapter LEAST_USED =
+      new UsageBasedAllocationStrategyAdapter(
+          Comparator.comparingLong(CardResourceUsage::getAllocationCount));
+  private static final UsageBasedAllocationStrategyAdapter FASTEST =
+      new UsageBasedAllocationStrategyAdapter(
+          Comparator.comparingLong(CardResourceUsage::getAverageUsageDurationMillis)
+              .thenComparingLong(CardResourceUsage::getAllocationCount));
+
+  private final Comparator<CardResourceUsage> comparator;
+
+  /**
+   * Constructor.
+   *
+   * @param comparator The comparator of the usage statistics, the lowest one being selected.
+   * @since 3.2.0
+   */
+  private UsageBasedAllocationStrategyAdapter(Comparator<CardResourceUsage> comparator) {
+    this.comparator = comparator;
+  }
+
+  /**
+   * Gets the built-in implementation of the provided allocation strategy.
+   *
+   * <p>The same instance is returned for a given allocation strategy, so that the configurations
+   * using the same built-in strategy are identical.
+   *
+   * @param allocationStrategy The allocation strategy.
+   * @return Null if the allocation strategy is not based on the usage statistics.
+   * @since 3.2.0
+   */
+  static CardResourceAllocationStrategySpi getInstance(
+      PluginsConfigurator.AllocationStrategy allocationStrategy) {
+    switch (allocationStrategy) {
+      case LEAST_RECENTLY_USED:
+        return LEAST_RECENTLY_USED;
+      case LEAST_USED:
+        return LEAST_USED;
+      case FASTEST:
+        return FASTEST;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 3.2.0
+   */
+  @Override
+  public CardResource selectCardResource(List<CardResourceUsage> idleCardResourceUsages) {
+    CardResourceUsage selectedCardResourceUsage = null;
+    for (CardResourceUsage cardResourceUsage : idleCardResourceUsages) {
+      if (selectedCardResourceUsage == null
+          || comparator.compare(cardResourceUsage, selectedCardResourceUsage) < 0) {
+        selectedCardResourceUsage = cardResourceUsage;
+      }
+    }
+    return selectedCardResourceUsage != null ? selectedCardResourceUsage.getCardResource() : null;
+  }
+}
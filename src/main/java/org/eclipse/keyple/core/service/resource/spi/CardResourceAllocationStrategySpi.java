@@ -0,0 +1,38 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource.spi;
+
+import java.util.List;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceUsage;
+
+/**
+ * Allocation strategy selecting the card resource to provide when a card resource is requested.
+ *
+ * <p>The strategy is only applied to the card resources provided by "regular" plugins. It may be
+ * invoked concurrently by several allocation requests and must therefore be thread-safe.
+ *
+ * @since 3.2.0
+ */
+public interface CardResourceAllocationStrategySpi {
+
+  /**
+   * Selects the card resource to allocate among the currently idle card resources of a card
+   * resource profile.
+   *
+   * @param idleCardResourceUsages The not empty list of the usage statistics of the idle card
+   *     resources, in the order of their creation.
+   * @return One of the provided card resources, or null to allocate the first one.
+   * @since 3.2.0
+   */
+  CardResource selectCardResource(List<CardResourceUsage> idleCardResourceUsages);
+}
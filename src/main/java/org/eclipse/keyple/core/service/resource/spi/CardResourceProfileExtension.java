@@ -11,8 +11,11 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service.resource.spi;
 
+import java.util.List;
 import org.eclipse.keypop.reader.CardReader;
 import org.eclipse.keypop.reader.ReaderApiFactory;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.reader.selection.ScheduledCardSelectionsResponse;
 import org.eclipse.keypop.reader.selection.spi.SmartCard;
 
 /**
@@ -43,4 +46,92 @@ public interface CardResourceProfileExtension {
    * @since 3.1.0
    */
   SmartCard matches(SmartCard smartCard);
+
+  /**
+   * Indicates if the extension is able to analyse the response of the scheduled card selection
+   * carried by a {@code CARD_MATCHED} reader event, for example using a card selection manager
+   * having prepared the same card selections than the scheduled one.
+   *
+   * <p>The default implementation returns false: the card is then selected again using {@link
+   * #matches(CardReader, ReaderApiFactory)}.
+   *
+   * @return True if {@link #matches(CardReader, ScheduledCardSelectionsResponse,
+   *     ReaderApiFactory)} has to be used when a response of the scheduled card selection is
+   *     available.
+   * @since 3.2.0
+   */
+  default boolean isScheduledCardSelectionsResponseSupported() {
+    return false;
+  }
+
+  /**
+   * Checks if the card inserted in the provided reader and already selected by the scheduled card
+   * selection of the reader is as expected by the profile, using the response of the scheduled
+   * card selection carried by the {@code CARD_MATCHED} reader event.
+   *
+   * <p>This method allows to avoid a new selection of the card. It is only invoked if {@link
+   * #isScheduledCardSelectionsResponseSupported()} returns true.
+   *
+   * <p>The default implementation ignores the provided response and invokes {@link
+   * #matches(CardReader, ReaderApiFactory)}.
+   *
+   * @param reader The reader in which the card is inserted.
+   * @param scheduledCardSelectionsResponse The response of the scheduled card selection.
+   * @param readerApiFactory A instance of {@link ReaderApiFactory}.
+   * @return A {@link SmartCard} or null if the card profile does not match the associated data.
+   * @since 3.2.0
+   */
+  default SmartCard matches(
+      CardReader reader,
+      ScheduledCardSelectionsResponse scheduledCardSelectionsResponse,
+      ReaderApiFactory readerApiFactory) {
+    return matches(reader, readerApiFactory);
+  }
+
+  /**
+   * Prepares in the provided card selection manager, shared by all the profiles interested in a
+   * newly inserted card, the card selections needed to evaluate the profile of the card.
+   *
+   * <p>The card selections of all the profiles are then processed in a single card selection
+   * scenario, in multiple selection mode, and the cards selected by the card selections prepared
+   * by this extension are provided to {@link #matches(CardReader, List)}.
+   *
+   * <p>The default implementation prepares nothing and returns 0, in which case the card is
+   * analysed separately using {@link #matches(CardReader, ReaderApiFactory)}.
+   *
+   * @param cardSelectionManager The shared card selection manager.
+   * @param readerApiFactory A instance of {@link ReaderApiFactory}.
+   * @return The number of card selections prepared.
+   * @since 3.2.0
+   */
+  default int prepareCardSelections(
+      CardSelectionManager cardSelectionManager, ReaderApiFactory readerApiFactory) {
+    return 0;
+  }
+
+  /**
+   * Checks if the card inserted in the provided reader is as expected by the profile using the
+   * results of the card selections prepared by {@link #prepareCardSelections(CardSelectionManager,
+   * ReaderApiFactory)}.
+   *
+   * <p>The default implementation returns the first selected smart card validated by {@link
+   * #matches(SmartCard)}.
+   *
+   * @param reader The reader in which the card is inserted.
+   * @param selectedSmartCards The smart cards selected by each of the prepared card selections, in
+   *     their preparation order, null for the card selections which did not select the card.
+   * @return A {@link SmartCard} or null if the card profile does not match the associated data.
+   * @since 3.2.0
+   */
+  default SmartCard matches(CardReader reader, List<SmartCard> selectedSmartCards) {
+    for (SmartCard selectedSmartCard : selectedSmartCards) {
+      if (selectedSmartCard != null) {
+        SmartCard smartCard = matches(selectedSmartCard);
+        if (smartCard != null) {
+          return smartCard;
+        }
+      }
+    }
+    return null;
+  }
 }
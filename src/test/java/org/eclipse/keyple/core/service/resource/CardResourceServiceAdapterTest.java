@@ -0,0 +1,1597 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.eclipse.keyple.core.service.Plugin;
+import org.eclipse.keyple.core.service.PoolPlugin;
+import org.eclipse.keyple.core.service.resource.spi.CardResourceProfileExtension;
+import org.eclipse.keyple.core.service.resource.spi.ReaderConfiguratorSpi;
+import org.eclipse.keypop.reader.CardReader;
+import org.eclipse.keypop.reader.CardReaderEvent;
+import org.eclipse.keypop.reader.ReaderApiFactory;
+import org.eclipse.keypop.reader.selection.CardSelectionManager;
+import org.eclipse.keypop.reader.selection.ScheduledCardSelectionsResponse;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardResourceServiceAdapterTest {
+
+  private static final String PLUGIN_NAME = "PLUGIN";
+  private static final String READER_NAME_PREFIX = "READER_";
+  private static final String PROFILE_NAME = "PROFILE";
+  private static final String OTHER_PROFILE_NAME = "OTHER_PROFILE";
+  private static final long AWAIT_TIMEOUT_MILLIS = 5000;
+
+  private CardResourceService service;
+  private ReaderConfiguratorSpi readerConfiguratorSpi;
+  private CardResourceProfileExtensionMock cardResourceProfileExtension;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    service = CardResourceServiceProvider.getService();
+    readerConfiguratorSpi = mock(ReaderConfiguratorSpi.class);
+    cardResourceProfileExtension = new CardResourceProfileExtensionMock();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void getCardResource_whenBlockingAndCardResourceReleased_shouldWakeUpBeforeCycleEnd()
+      throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(heldCardResource).isNotNull();
+
+    Future<CardResource> request = submitBlockedRequest();
+    service.releaseCardResource(heldCardResource);
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  void getCardResource_whenBlockingAndCardInserted_shouldWakeUpBeforeCycleEnd() throws Exception {
+    cardResourceProfileExtension.setCardInserted(false);
+    configureBlockingAndStart(mockPlugin(1));
+
+    Future<CardResource> request = submitBlockedRequest();
+    cardResourceProfileExtension.setCardInserted(true);
+    CardResourceServiceAdapter.getInstance()
+        .onReaderEvent(
+            mockCardReaderEvent(READER_NAME_PREFIX + 0, CardReaderEvent.Type.CARD_INSERTED));
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  void getCardResource_whenFairAllocationMode_shouldServeWaitingRequestsInArrivalOrder()
+      throws Exception {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withBlockingAllocationMode(1000, 5000)
+        .withFairAllocationMode()
+        .configure();
+    service.start();
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(heldCardResource).isNotNull();
+
+    List<Integer> servedRequests = Collections.synchronizedList(new ArrayList<Integer>());
+    List<Future<?>> requests = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final int requestIndex = i;
+      requests.add(
+          executor.submit(
+              () -> {
+                CardResource cardResource = service.getCardResource(PROFILE_NAME);
+                assertThat(cardResource).isNotNull();
+                servedRequests.add(requestIndex);
+                service.releaseCardResource(cardResource);
+                return null;
+              }));
+      final int waitingRequestCount = i + 1;
+      await(
+          () ->
+              service.getCardResourceProfileStatistics(PROFILE_NAME).getWaitingRequestCount()
+                  == waitingRequestCount);
+    }
+    service.releaseCardResource(heldCardResource);
+
+    for (Future<?> request : requests) {
+      request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    assertThat(servedRequests).containsExactly(0, 1, 2, 3, 4);
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    assertThat(statistics.getWaitingRequestCount()).isZero();
+    assertThat(statistics.getMaxWaitingRequestCount()).isEqualTo(5);
+    assertThat(statistics.getWaitedRequestCount()).isEqualTo(5L);
+    assertThat(statistics.getTimedOutRequestCount()).isZero();
+  }
+
+  @Test
+  void getCardResource_whenBlockingTimeoutElapsed_shouldCountTimedOutRequest() {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withBlockingAllocationMode(50, 200)
+        .configure();
+    service.start();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+
+    assertThat(service.getCardResource(PROFILE_NAME)).isNull();
+
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    assertThat(statistics.getWaitingRequestCount()).isZero();
+    assertThat(statistics.getMaxWaitingRequestCount()).isEqualTo(1);
+    assertThat(statistics.getWaitedRequestCount()).isEqualTo(1L);
+    assertThat(statistics.getTimedOutRequestCount()).isEqualTo(1L);
+    assertThat(statistics.getMaxWaitingTimeMillis()).isGreaterThanOrEqualTo(150L);
+    assertThat(statistics.getTotalWaitingTimeMillis())
+        .isEqualTo(statistics.getMaxWaitingTimeMillis());
+  }
+
+  @Test
+  void getCardResourceAsync_whenCardResourceAvailable_shouldCompleteImmediately() {
+    configureBlockingAndStart(mockPlugin(1));
+
+    CompletableFuture<CardResource> request = service.getCardResourceAsync(PROFILE_NAME);
+
+    assertThat(request.isDone()).isTrue();
+    assertThat(request.getNow(null)).isNotNull();
+  }
+
+  @Test
+  void getCardResourceAsync_whenCardResourceReleased_shouldComplete() throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+
+    CompletableFuture<CardResource> request = service.getCardResourceAsync(PROFILE_NAME);
+    assertThat(request.isDone()).isFalse();
+    service.releaseCardResource(heldCardResource);
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  void getCardResourceAsync_whenCancelled_shouldRemoveWaitingRequest() {
+    configureBlockingAndStart(mockPlugin(1));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    CompletableFuture<CardResource> request = service.getCardResourceAsync(PROFILE_NAME);
+    assertThat(service.getCardResourceProfileStatistics(PROFILE_NAME).getWaitingRequestCount())
+        .isEqualTo(1);
+
+    request.cancel(false);
+    service.releaseCardResource(heldCardResource);
+
+    assertThat(service.getCardResourceProfileStatistics(PROFILE_NAME).getWaitingRequestCount())
+        .isZero();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+  }
+
+  @Test
+  void getCardResourceAsync_whenDeadlineReached_shouldCompleteWithNull() throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    service.getCardResource(PROFILE_NAME);
+
+    CompletableFuture<CardResource> request =
+        service.getCardResourceAsync(PROFILE_NAME, 50, TimeUnit.MILLISECONDS);
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    await(
+        () ->
+            service.getCardResourceProfileStatistics(PROFILE_NAME).getTimedOutRequestCount()
+                == 1);
+  }
+
+  @Test
+  void getCardResourceAsync_whenServiceStopped_shouldCompleteExceptionally() {
+    configureBlockingAndStart(mockPlugin(1));
+    service.getCardResource(PROFILE_NAME);
+    CompletableFuture<CardResource> request = service.getCardResourceAsync(PROFILE_NAME);
+
+    service.stop();
+
+    assertThat(request.isCompletedExceptionally()).isTrue();
+    assertThatThrownBy(request::join).hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void getCardResources_whenNotEnoughCardResources_shouldReturnEmptyListAndReleaseAllocated() {
+    configureAndStart(mockPlugin(2));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(heldCardResource).isNotNull();
+
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).isEmpty();
+
+    List<CardResource> cardResources =
+        service.getCardResources(PROFILE_NAME, 1, 0, TimeUnit.MILLISECONDS);
+    assertThat(cardResources).hasSize(1);
+    assertThat(cardResources.get(0)).isNotSameAs(heldCardResource);
+    service.releaseCardResources(cardResources);
+    service.releaseCardResource(heldCardResource);
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).hasSize(2);
+  }
+
+  @Test
+  void getCardResources_whenCardResourceReleased_shouldGetAllCardResources() throws Exception {
+    configureBlockingAndStart(mockPlugin(2));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    AtomicReference<Thread> requestingThread = new AtomicReference<>();
+    Future<List<CardResource>> request =
+        executor.submit(
+            () -> {
+              requestingThread.set(Thread.currentThread());
+              return service.getCardResources(
+                  PROFILE_NAME, 2, AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            });
+    await(
+        () ->
+            requestingThread.get() != null
+                && requestingThread.get().getState() == Thread.State.TIMED_WAITING);
+
+    service.releaseCardResource(heldCardResource);
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).hasSize(2);
+  }
+
+  @Test
+  void getCardResource_whenConcurrentRequests_shouldReturnDistinctCardResources() throws Exception {
+    int readerCount = 8;
+    configureAndStart(mockPlugin(readerCount));
+    CountDownLatch startSignal = new CountDownLatch(1);
+    List<Future<CardResource>> requests = new ArrayList<>();
+    for (int i = 0; i < readerCount; i++) {
+      requests.add(
+          executor.submit(
+              () -> {
+                startSignal.await();
+                return service.getCardResource(PROFILE_NAME);
+              }));
+    }
+
+    startSignal.countDown();
+
+    Set<CardResource> cardResources = new HashSet<>();
+    for (Future<CardResource> request : requests) {
+      CardResource cardResource = request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      assertThat(cardResource).isNotNull();
+      cardResources.add(cardResource);
+    }
+    assertThat(cardResources).hasSize(readerCount);
+    assertThat(service.getCardResource(PROFILE_NAME)).isNull();
+    service.releaseCardResources(new ArrayList<>(cardResources));
+    assertThat(service.getCardResources(PROFILE_NAME, readerCount, 0, TimeUnit.MILLISECONDS))
+        .hasSize(readerCount);
+  }
+
+  @Test
+  void getCardResource_whenCyclicAllocationStrategy_shouldRotateOverReaders() {
+    configureAndStart(
+        PluginsConfigurator.builder()
+            .withAllocationStrategy(PluginsConfigurator.AllocationStrategy.CYCLIC)
+            .addPlugin(mockPlugin(3), readerConfiguratorSpi)
+            .build());
+
+    List<String> readerNames = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      CardResource cardResource = service.getCardResource(PROFILE_NAME);
+      readerNames.add(cardResource.getReader().getName());
+      service.releaseCardResource(cardResource);
+    }
+
+    assertThat(readerNames)
+        .containsExactly(
+            READER_NAME_PREFIX + 0,
+            READER_NAME_PREFIX + 1,
+            READER_NAME_PREFIX + 2,
+            READER_NAME_PREFIX + 0,
+            READER_NAME_PREFIX + 1,
+            READER_NAME_PREFIX + 2);
+  }
+
+  @Test
+  void getCardResource_whenRandomAllocationStrategy_shouldUseAllReaders() {
+    configureAndStart(
+        PluginsConfigurator.builder()
+            .withAllocationStrategy(PluginsConfigurator.AllocationStrategy.RANDOM)
+            .addPlugin(mockPlugin(3), readerConfiguratorSpi)
+            .build());
+
+    Set<String> readerNames = new HashSet<>();
+    for (int i = 0; i < 200; i++) {
+      CardResource cardResource = service.getCardResource(PROFILE_NAME);
+      readerNames.add(cardResource.getReader().getName());
+      service.releaseCardResource(cardResource);
+    }
+
+    assertThat(readerNames)
+        .containsExactlyInAnyOrder(
+            READER_NAME_PREFIX + 0, READER_NAME_PREFIX + 1, READER_NAME_PREFIX + 2);
+  }
+
+  @Test
+  void getCardResource_whenAllocationStrategySpi_shouldAllocateSelectedCardResource() {
+    List<Integer> idleCardResourceCounts = new ArrayList<>();
+    configureAndStart(
+        PluginsConfigurator.builder()
+            .withAllocationStrategy(
+                idleCardResourceUsages -> {
+                  idleCardResourceCounts.add(idleCardResourceUsages.size());
+                  return idleCardResourceUsages
+                      .get(idleCardResourceUsages.size() - 1)
+                      .getCardResource();
+                })
+            .addPlugin(mockPlugin(3), readerConfiguratorSpi)
+            .build());
+
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+
+    assertThat(cardResource.getReader().getName()).isEqualTo(READER_NAME_PREFIX + 2);
+    assertThat(idleCardResourceCounts).containsExactly(3);
+  }
+
+  @Test
+  void getCardResource_whenLeastUsedAllocationStrategy_shouldEvenOutAllocations() {
+    configureAndStart(
+        PluginsConfigurator.builder()
+            .withAllocationStrategy(PluginsConfigurator.AllocationStrategy.LEAST_USED)
+            .addPlugin(mockPlugin(2), readerConfiguratorSpi)
+            .build());
+
+    List<String> readerNames = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      CardResource cardResource = service.getCardResource(PROFILE_NAME);
+      readerNames.add(cardResource.getReader().getName());
+      service.releaseCardResource(cardResource);
+    }
+
+    assertThat(readerNames)
+        .containsExactly(
+            READER_NAME_PREFIX + 0,
+            READER_NAME_PREFIX + 1,
+            READER_NAME_PREFIX + 0,
+            READER_NAME_PREFIX + 1);
+  }
+
+  @Test
+  void getCardResource_whenProfileNonBlockingAllocationMode_shouldOverrideGlobalMode() {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .withNonBlockingAllocationMode()
+                .build())
+        .withBlockingAllocationMode(60000, 60000)
+        .configure();
+    service.start();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+
+    long startTimeMillis = System.currentTimeMillis();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNull();
+
+    assertThat(System.currentTimeMillis() - startTimeMillis).isLessThan(AWAIT_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void getCardResource_whenProfileAllocationStrategy_shouldOverrideGlobalStrategy() {
+    configureAndStart(
+        PluginsConfigurator.builder()
+            .withAllocationStrategy(PluginsConfigurator.AllocationStrategy.CYCLIC)
+            .addPlugin(mockPlugin(2), readerConfiguratorSpi)
+            .build(),
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .withAllocationStrategy(PluginsConfigurator.AllocationStrategy.FIRST)
+            .build());
+
+    for (int i = 0; i < 2; i++) {
+      CardResource cardResource = service.getCardResource(PROFILE_NAME);
+      assertThat(cardResource.getReader().getName()).isEqualTo(READER_NAME_PREFIX + 0);
+      service.releaseCardResource(cardResource);
+    }
+  }
+
+  @Test
+  void getCardResource_whenProfileUsageTimeoutExceeded_shouldTakeOverReader() {
+    configureAndStart(
+        PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build(),
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .withUsageTimeout(100)
+            .build());
+    long startTimeMillis = System.currentTimeMillis();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+
+    await(() -> service.getCardResource(PROFILE_NAME) != null);
+
+    assertThat(System.currentTimeMillis() - startTimeMillis).isGreaterThanOrEqualTo(100L);
+  }
+
+  @Test
+  void getCardResource_whenTimeoutElapsed_shouldReturnNullWhateverAllocationMode()
+      throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+
+    assertThat(service.getCardResource(PROFILE_NAME, 50, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void getCardResource_whenCancelled_shouldReturnNull() throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+    CardResourceAllocationCancellation cancellation = new CardResourceAllocationCancellation();
+    Future<CardResource> request =
+        submitBlockedRequest(
+            () ->
+                service.getCardResource(
+                    PROFILE_NAME, AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, cancellation));
+
+    assertThat(cancellation.cancel()).isTrue();
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    assertThat(cancellation.isCancelled()).isTrue();
+  }
+
+  @Test
+  void getCardResource_whenInterrupted_shouldThrowInterruptedException() {
+    configureBlockingAndStart(mockPlugin(1));
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+    AtomicReference<Thread> requestingThread = new AtomicReference<>();
+    Future<CardResource> request =
+        submitBlockedRequest(
+            () -> {
+              requestingThread.set(Thread.currentThread());
+              return service.getCardResource(
+                  PROFILE_NAME, AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            });
+
+    requestingThread.get().interrupt();
+
+    assertThatThrownBy(() -> request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+        .hasCauseInstanceOf(InterruptedException.class);
+  }
+
+  @Test
+  void getCardResourceLease_whenClosed_shouldReleaseCardResource() {
+    configureAndStart(mockPlugin(1));
+    long stamp;
+    try (CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME)) {
+      assertThat(lease).isNotNull();
+      assertThat(lease.isValid()).isTrue();
+      assertThat(service.getCardResourceLease(PROFILE_NAME)).isNull();
+      stamp = lease.getStamp();
+    }
+
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+
+    assertThat(lease).isNotNull();
+    assertThat(lease.getStamp()).isNotEqualTo(stamp);
+  }
+
+  @Test
+  void getCardResourceLease_whenClosedTwice_shouldIgnoreStaleLease() {
+    configureAndStart(mockPlugin(1));
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    lease.close();
+    CardResourceLease nextLease = service.getCardResourceLease(PROFILE_NAME);
+
+    assertThatCode(lease::close).doesNotThrowAnyException();
+
+    assertThat(lease.isValid()).isFalse();
+    assertThat(lease.release()).isFalse();
+    assertThat(nextLease.isValid()).isTrue();
+  }
+
+  @Test
+  void releaseCardResource_whenReaderTakenOverAfterUsageTimeout_shouldNotReleaseNewHolder() {
+    configureAndStart(
+        PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build(),
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .withUsageTimeout(100)
+            .build());
+    CardResource expiredCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(expiredCardResource).isInstanceOf(CardResourceLease.class);
+    AtomicReference<CardResource> cardResource = new AtomicReference<>();
+    await(() -> cardResource.updateAndGet(c -> service.getCardResource(PROFILE_NAME)) != null);
+
+    service.releaseCardResource(expiredCardResource);
+
+    assertThat(((CardResourceLease) expiredCardResource).isValid()).isFalse();
+    assertThat(((CardResourceLease) cardResource.get()).isValid()).isTrue();
+    service.releaseCardResource(cardResource.get());
+    assertThat(((CardResourceLease) cardResource.get()).isValid()).isFalse();
+  }
+
+  @Test
+  void getCardResourceLease_whenUsageTimeoutElapsed_shouldReclaimLeaseAndIgnoreStaleRelease() {
+    configureAndStart(
+        PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build(),
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .withUsageTimeout(100)
+            .build());
+    CardResourceLease expiredLease = service.getCardResourceLease(PROFILE_NAME);
+    assertThat(expiredLease).isNotNull();
+
+    await(
+        () ->
+            service.getCardResourceProfileStatistics(PROFILE_NAME).getReclaimedLeaseCount() == 1);
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+
+    assertThat(lease).isNotNull();
+    assertThat(lease.getStamp()).isNotEqualTo(expiredLease.getStamp());
+    assertThat(expiredLease.isValid()).isFalse();
+    assertThat(expiredLease.release()).isFalse();
+    assertThat(lease.isValid()).isTrue();
+    assertThat(lease.release()).isTrue();
+    assertThat(lease.isValid()).isFalse();
+  }
+
+  @Test
+  void getCardResource_whenBlockedAndLeaseReclaimed_shouldWakeUp() throws Exception {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder()
+                .withUsageTimeout(100)
+                .addPlugin(mockPlugin(1), readerConfiguratorSpi)
+                .build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withBlockingAllocationMode(60000, 60000)
+        .configure();
+    service.start();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+
+    Future<CardResource> request = submitBlockedRequest();
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  void renew_whenRenewedBeforeUsageTimeout_shouldKeepLease() throws Exception {
+    configureWithUsageTimeoutAndStart(mockPlugin(1), 200);
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+
+    for (int i = 0; i < 8; i++) {
+      Thread.sleep(50);
+      assertThat(lease.renew()).isTrue();
+    }
+
+    assertThat(lease.isValid()).isTrue();
+    assertThat(service.getCardResourceProfileStatistics(PROFILE_NAME).getReclaimedLeaseCount())
+        .isZero();
+  }
+
+  @Test
+  void renew_whenInfiniteUsageTimeout_shouldNotReclaimLease() {
+    configureWithUsageTimeoutAndStart(mockPlugin(2), 100);
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    CardResourceLease expiringLease = service.getCardResourceLease(PROFILE_NAME);
+
+    assertThat(lease.renew(0, TimeUnit.MILLISECONDS)).isTrue();
+
+    await(() -> !expiringLease.isValid());
+    assertThat(lease.isValid()).isTrue();
+  }
+
+  @Test
+  void renew_whenLeaseReleased_shouldReturnFalse() {
+    configureWithUsageTimeoutAndStart(mockPlugin(1), 100);
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    assertThat(lease.release()).isTrue();
+
+    assertThat(lease.renew()).isFalse();
+    assertThat(lease.renew(1, TimeUnit.SECONDS)).isFalse();
+  }
+
+  @Test
+  void getCardResourceLease_whenPoolLeaseExpired_shouldReleaseReaderToPool() {
+    PoolPlugin poolPlugin = mock(PoolPlugin.class);
+    CardReader reader = mock(CardReader.class);
+    when(reader.getName()).thenReturn(READER_NAME_PREFIX + 0);
+    when(poolPlugin.getName()).thenReturn(PLUGIN_NAME);
+    when(poolPlugin.allocateReader(null)).thenReturn(reader);
+    service
+        .getConfigurator()
+        .withPoolPlugins(PoolPluginsConfigurator.builder().addPoolPlugin(poolPlugin).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .withUsageTimeout(100)
+                .build())
+        .configure();
+    service.start();
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    assertThat(lease).isNotNull();
+    assertThat(statistics.getPoolLeaseCount()).isEqualTo(1);
+
+    await(() -> statistics.getReclaimedLeaseCount() == 1);
+    assertThat(statistics.getPoolLeaseCount()).isZero();
+    assertThat(lease.isValid()).isFalse();
+    assertThat(lease.release()).isFalse();
+  }
+
+  @Test
+  void onReaderEvent_whenCardMatchedAndResponseSupported_shouldPassResponseToExtension() {
+    cardResourceProfileExtension.setCardInserted(false);
+    cardResourceProfileExtension.setResponseSupported(true);
+    configureAndStart(mockPlugin(1));
+
+    cardResourceProfileExtension.setCardInserted(true);
+    CardResourceServiceAdapter.getInstance().onReaderEvent(mockCardMatchedEvent());
+
+    assertThat(cardResourceProfileExtension.getResponseMatchCount()).isEqualTo(1);
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+  }
+
+  @Test
+  void onReaderEvent_whenCardMatchedAndResponseNotSupported_shouldSelectCardAgain() {
+    cardResourceProfileExtension.setCardInserted(false);
+    configureAndStart(mockPlugin(1));
+
+    cardResourceProfileExtension.setCardInserted(true);
+    CardResourceServiceAdapter.getInstance().onReaderEvent(mockCardMatchedEvent());
+
+    assertThat(cardResourceProfileExtension.getResponseMatchCount()).isZero();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+  }
+
+  @Test
+  void onReaderEvent_whenCardMatched_shouldPassResponseOnlyToSupportingExtensions() {
+    CardResourceProfileExtensionMock otherExtension = new CardResourceProfileExtensionMock();
+    cardResourceProfileExtension.setCardInserted(false);
+    cardResourceProfileExtension.setResponseSupported(true);
+    otherExtension.setCardInserted(false);
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build(),
+            CardResourceProfileConfigurator.builder(OTHER_PROFILE_NAME, otherExtension).build())
+        .configure();
+    service.start();
+    int preparationCount = cardResourceProfileExtension.getPreparationCount();
+    int otherPreparationCount = otherExtension.getPreparationCount();
+
+    cardResourceProfileExtension.setCardInserted(true);
+    otherExtension.setCardInserted(true);
+    CardResourceServiceAdapter.getInstance().onReaderEvent(mockCardMatchedEvent());
+
+    assertThat(cardResourceProfileExtension.getResponseMatchCount()).isEqualTo(1);
+    assertThat(cardResourceProfileExtension.getPreparationCount()).isEqualTo(preparationCount);
+    assertThat(otherExtension.getResponseMatchCount()).isZero();
+    assertThat(otherExtension.getPreparationCount()).isEqualTo(otherPreparationCount + 1);
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(cardResource).isNotNull();
+    service.releaseCardResource(cardResource);
+    assertThat(service.getCardResource(OTHER_PROFILE_NAME)).isNotNull();
+  }
+
+  @Test
+  void getCardResource_whenSelectionCachedAndOtherApplicationSelected_shouldSelectCardAgain() {
+    CardResourceProfileExtensionMock extension = new CardResourceProfileExtensionMock("A");
+    CardResourceProfileExtensionMock otherExtension = new CardResourceProfileExtensionMock("B");
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, extension).build(),
+            CardResourceProfileConfigurator.builder(OTHER_PROFILE_NAME, otherExtension).build())
+        .withSelectionCacheUntilCardRemoval()
+        .configure();
+    service.start();
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    service.releaseCardResource(service.getCardResource(OTHER_PROFILE_NAME));
+    int matchCount = extension.getMatchCount();
+
+    service.releaseCardResource(service.getCardResource(PROFILE_NAME));
+    assertThat(extension.getMatchCount()).isEqualTo(matchCount + 1);
+    assertThat(statistics.getSelectionCacheMissCount()).isEqualTo(1L);
+
+    service.releaseCardResource(service.getCardResource(PROFILE_NAME));
+    assertThat(extension.getMatchCount()).isEqualTo(matchCount + 1);
+    assertThat(statistics.getSelectionCacheHitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void getCardResource_whenReaderSharedAndOtherApplicationSelected_shouldPreferSelectedResource() {
+    CardResourceProfileExtensionMock extension = new CardResourceProfileExtensionMock("A");
+    CardResourceProfileExtensionMock otherExtension = new CardResourceProfileExtensionMock("B");
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(2), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, extension).build(),
+            CardResourceProfileConfigurator.builder(OTHER_PROFILE_NAME, otherExtension).build())
+        .configure();
+    service.start();
+    CardResourceProfileStatistics otherStatistics =
+        service.getCardResourceProfileStatistics(OTHER_PROFILE_NAME);
+    // Selects the application B in both readers, then the application A in the first one.
+    service.releaseCardResources(
+        service.getCardResources(OTHER_PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS));
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(cardResource.getReader().getName()).isEqualTo(READER_NAME_PREFIX + 0);
+    service.releaseCardResource(cardResource);
+    long avoidedSelectionSwitchCount = otherStatistics.getAvoidedSelectionSwitchCount();
+
+    CardResource otherCardResource = service.getCardResource(OTHER_PROFILE_NAME);
+
+    assertThat(otherCardResource.getReader().getName()).isEqualTo(READER_NAME_PREFIX + 1);
+    assertThat(otherStatistics.getAvoidedSelectionSwitchCount())
+        .isEqualTo(avoidedSelectionSwitchCount + 1);
+  }
+
+  @Test
+  void getCardResource_whenSelectionValidityElapsed_shouldSelectCardAgain() throws Exception {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withSelectionCache(50)
+        .configure();
+    service.start();
+    int matchCount = cardResourceProfileExtension.getMatchCount();
+
+    Thread.sleep(100);
+    service.releaseCardResource(service.getCardResource(PROFILE_NAME));
+
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    assertThat(cardResourceProfileExtension.getMatchCount()).isEqualTo(matchCount + 1);
+    assertThat(statistics.getSelectionCacheMissCount()).isEqualTo(1L);
+  }
+
+  @Test
+  void start_whenParallelDiscovery_shouldAnalyseReadersConcurrentlyAndKeepReaderOrder() {
+    CountDownLatch analysisLatch = new CountDownLatch(3);
+    CardResourceProfileExtension extension =
+        new CardResourceProfileExtension() {
+          @Override
+          public SmartCard matches(CardReader reader, ReaderApiFactory readerApiFactory) {
+            // Only matches if the three readers are analysed at the same time.
+            analysisLatch.countDown();
+            try {
+              return analysisLatch.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                  ? mock(SmartCard.class)
+                  : null;
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return null;
+            }
+          }
+
+          @Override
+          public SmartCard matches(SmartCard smartCard) {
+            return smartCard;
+          }
+        };
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(3), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, extension).build())
+        .withParallelDiscovery(3)
+        .configure();
+    service.start();
+
+    List<CardResource> cardResources =
+        service.getCardResources(PROFILE_NAME, 3, 0, TimeUnit.MILLISECONDS);
+
+    assertThat(cardResources).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(cardResources.get(i).getReader().getName()).isEqualTo(READER_NAME_PREFIX + i);
+    }
+  }
+
+  @Test
+  void getCardResourceProfileReadiness_whenProgressiveStart_shouldCompleteOnceCardDiscovered()
+      throws Exception {
+    CountDownLatch analysisGate = new CountDownLatch(1);
+    cardResourceProfileExtension.setAnalysisGate(analysisGate);
+    configureProgressiveAndStart();
+    CompletableFuture<Void> readiness = service.getCardResourceProfileReadiness(PROFILE_NAME);
+    assertThat(readiness.isDone()).isFalse();
+    assertThat(service.getCardResource(PROFILE_NAME)).isNull();
+
+    analysisGate.countDown();
+
+    readiness.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(service.getCardResource(PROFILE_NAME)).isNotNull();
+  }
+
+  @Test
+  void getCardResource_whenBlockingDuringProgressiveStart_shouldWakeUpOnceCardDiscovered()
+      throws Exception {
+    CountDownLatch analysisGate = new CountDownLatch(1);
+    cardResourceProfileExtension.setAnalysisGate(analysisGate);
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withBlockingAllocationMode(60000, 60000)
+        .withProgressiveStart()
+        .configure();
+    service.start();
+    Future<CardResource> request = submitBlockedRequest();
+
+    analysisGate.countDown();
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+  }
+
+  @Test
+  void getCardResourceProfileReadiness_whenRegularStart_shouldBeCompleted() {
+    configureAndStart(mockPlugin(1));
+
+    assertThat(service.getCardResourceProfileReadiness(PROFILE_NAME).isDone()).isTrue();
+  }
+
+  @Test
+  void getCardResourceProfileReadiness_whenStoppedDuringDiscovery_shouldCompleteExceptionally() {
+    CountDownLatch analysisGate = new CountDownLatch(1);
+    cardResourceProfileExtension.setAnalysisGate(analysisGate);
+    configureProgressiveAndStart();
+    CompletableFuture<Void> readiness = service.getCardResourceProfileReadiness(PROFILE_NAME);
+
+    service.stop();
+
+    assertThat(readiness.isCompletedExceptionally()).isTrue();
+  }
+
+  @Test
+  void stop_whenDiscoveryInProgress_shouldWaitForAnalysisInProgress() {
+    CountDownLatch analysisGate = new CountDownLatch(1);
+    cardResourceProfileExtension.setAnalysisGate(analysisGate);
+    configureProgressiveAndStart();
+    await(() -> cardResourceProfileExtension.getAnalysisInProgressCount() == 1);
+
+    service.stop();
+
+    assertThat(cardResourceProfileExtension.getAnalysisInProgressCount()).isZero();
+  }
+
+  @Test
+  void configure_whenStartedAndConfigurationUnchanged_shouldKeepCardResourcesAndLeases() {
+    Plugin plugin = mockPlugin(1);
+    configureAndStart(plugin);
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    int matchCount = cardResourceProfileExtension.getMatchCount();
+
+    reconfigure(
+        plugin,
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .build());
+
+    assertThat(((CardResourceLease) heldCardResource).isValid()).isTrue();
+    assertThat(cardResourceProfileExtension.getMatchCount()).isEqualTo(matchCount);
+    service.releaseCardResource(heldCardResource);
+    assertThat(service.getCardResource(PROFILE_NAME).getSmartCard())
+        .isSameAs(heldCardResource.getSmartCard());
+  }
+
+  @Test
+  void configure_whenProfileAdded_shouldKeepLeasesAndAnalyseReaderOnceReleased() {
+    Plugin plugin = mockPlugin(1);
+    configureAndStart(plugin);
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    CardResourceProfileExtensionMock otherCardResourceProfileExtension =
+        new CardResourceProfileExtensionMock();
+
+    reconfigure(
+        plugin,
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .build(),
+        CardResourceProfileConfigurator.builder(
+                OTHER_PROFILE_NAME, otherCardResourceProfileExtension)
+            .build());
+
+    assertThat(((CardResourceLease) heldCardResource).isValid()).isTrue();
+    assertThat(otherCardResourceProfileExtension.getMatchCount()).isZero();
+    service.releaseCardResource(heldCardResource);
+    AtomicReference<CardResource> otherCardResource = new AtomicReference<>();
+    await(
+        () ->
+            otherCardResource.updateAndGet(c -> service.getCardResource(OTHER_PROFILE_NAME))
+                != null);
+    assertThat(otherCardResource.get().getReader()).isSameAs(heldCardResource.getReader());
+  }
+
+  @Test
+  void configure_whenPluginRemovedAndReaderLocked_shouldRemoveReaderOnceReleased() {
+    configureAndStart(mockPlugin(1));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    Plugin newPlugin = mockPlugin(1);
+
+    reconfigure(
+        newPlugin,
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .build());
+
+    assertThat(((CardResourceLease) heldCardResource).isValid()).isTrue();
+    CardResource newCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(newCardResource).isNotNull();
+    assertThat(newCardResource.getReader()).isNotSameAs(heldCardResource.getReader());
+    service.releaseCardResource(newCardResource);
+    service.releaseCardResource(heldCardResource);
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).isEmpty();
+    assertThat(service.getCardResource(PROFILE_NAME).getReader())
+        .isSameAs(newCardResource.getReader());
+  }
+
+  @Test
+  void stop_whenLeaseReleasedDuringDrain_shouldReturnTrue() throws Exception {
+    configureAndStart(mockPlugin(1));
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    assertThat(lease).isNotNull();
+
+    Future<Boolean> drained =
+        executor.submit(() -> service.stop(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    await(() -> CardResourceServiceAdapter.getInstance().isStopping());
+
+    assertThat(drained).isNotDone();
+    assertThat(lease.isValid()).isTrue();
+    assertThatThrownBy(() -> service.getCardResource(PROFILE_NAME))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(lease.release()).isTrue();
+    assertThat(drained.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+  }
+
+  @Test
+  void stop_whenDrainTimeoutElapsed_shouldReturnFalseAndInvalidateLease() throws Exception {
+    configureAndStart(mockPlugin(1));
+    CardResourceLease lease = service.getCardResourceLease(PROFILE_NAME);
+    assertThat(lease).isNotNull();
+
+    assertThat(service.stop(100, TimeUnit.MILLISECONDS)).isFalse();
+
+    assertThat(lease.isValid()).isFalse();
+    assertThat(lease.release()).isFalse();
+  }
+
+  @Test
+  void getCardResource_whenBlockedAndServiceStopped_shouldReturnPromptly() throws Exception {
+    configureBlockingAndStart(mockPlugin(1));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(heldCardResource).isNotNull();
+    Future<CardResource> request = submitBlockedRequest();
+
+    service.stop();
+
+    assertThat(request.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void releaseCardResource_whenServiceStopped_shouldDoNothing() {
+    configureAndStart(mockPlugin(2));
+    CardResource heldCardResource = service.getCardResource(PROFILE_NAME);
+    List<CardResource> heldCardResources =
+        service.getCardResources(PROFILE_NAME, 1, 0, TimeUnit.MILLISECONDS);
+    assertThat(heldCardResources).hasSize(1);
+
+    service.stop();
+
+    assertThatCode(() -> service.releaseCardResource(heldCardResource))
+        .doesNotThrowAnyException();
+    assertThatCode(() -> service.releaseCardResources(heldCardResources))
+        .doesNotThrowAnyException();
+    assertThat(((CardResourceLease) heldCardResource).isValid()).isFalse();
+  }
+
+  @Test
+  void onReaderEvent_whenCardRemoved_shouldRemoveCardResourceOfNamedReaderOnly() {
+    configureAndStart(mockPlugin(2));
+
+    CardResourceServiceAdapter.getInstance()
+        .onReaderEvent(
+            mockCardReaderEvent(READER_NAME_PREFIX + 1, CardReaderEvent.Type.CARD_REMOVED));
+
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).isEmpty();
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    assertThat(cardResource.getReader().getName()).isEqualTo(READER_NAME_PREFIX + 0);
+    service.releaseCardResource(cardResource);
+
+    CardResourceServiceAdapter.getInstance()
+        .onReaderEvent(
+            mockCardReaderEvent(READER_NAME_PREFIX + 1, CardReaderEvent.Type.CARD_INSERTED));
+
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).hasSize(2);
+  }
+
+  @Test
+  void removeCardResource_whenReferencedBySeveralProfiles_shouldRemoveItFromAllProfiles() {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build(),
+            CardResourceProfileConfigurator.builder(
+                    OTHER_PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .configure();
+    service.start();
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    service.releaseCardResource(cardResource);
+
+    service.removeCardResource(cardResource);
+
+    assertThat(service.getCardResource(PROFILE_NAME)).isNull();
+    assertThat(service.getCardResource(OTHER_PROFILE_NAME)).isNull();
+  }
+
+  @Test
+  void onReaderEvent_whenCardInserted_shouldDispatchOnlyToProfilesAcceptingReaderName() {
+    CardResourceProfileExtensionMock otherExtension = new CardResourceProfileExtensionMock();
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(2), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .withReaderNameRegex(READER_NAME_PREFIX + 0)
+                .build(),
+            CardResourceProfileConfigurator.builder(OTHER_PROFILE_NAME, otherExtension)
+                .withReaderNameRegex(READER_NAME_PREFIX + "[01]")
+                .build())
+        .configure();
+    service.start();
+    assertThat(cardResourceProfileExtension.getMatchCount()).isEqualTo(1);
+    assertThat(otherExtension.getMatchCount()).isEqualTo(2);
+
+    CardResourceServiceAdapter.getInstance()
+        .onReaderEvent(
+            mockCardReaderEvent(READER_NAME_PREFIX + 1, CardReaderEvent.Type.CARD_INSERTED));
+
+    assertThat(cardResourceProfileExtension.getMatchCount()).isEqualTo(1);
+    assertThat(otherExtension.getMatchCount()).isEqualTo(3);
+    assertThat(service.getCardResources(PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS)).isEmpty();
+    assertThat(service.getCardResources(OTHER_PROFILE_NAME, 2, 0, TimeUnit.MILLISECONDS))
+        .hasSize(2);
+  }
+
+  @Test
+  void getCardResource_whenHedgedAllocationAndPoolPluginSlow_shouldAllocateFromNextPoolPlugin()
+      throws Exception {
+    CountDownLatch slowAllocationGate = new CountDownLatch(1);
+    CountDownLatch slowReaderReleased = new CountDownLatch(1);
+    CardReader slowReader = mock(CardReader.class);
+    when(slowReader.getName()).thenReturn(READER_NAME_PREFIX + 0);
+    PoolPlugin slowPoolPlugin = mock(PoolPlugin.class);
+    when(slowPoolPlugin.getName()).thenReturn(PLUGIN_NAME + 0);
+    when(slowPoolPlugin.allocateReader(null))
+        .thenAnswer(
+            invocation -> {
+              slowAllocationGate.await();
+              return slowReader;
+            });
+    doAnswer(
+            invocation -> {
+              slowReaderReleased.countDown();
+              return null;
+            })
+        .when(slowPoolPlugin)
+        .releaseReader(slowReader);
+    CardReader fastReader = mock(CardReader.class);
+    when(fastReader.getName()).thenReturn(READER_NAME_PREFIX + 1);
+    PoolPlugin fastPoolPlugin = mock(PoolPlugin.class);
+    when(fastPoolPlugin.getName()).thenReturn(PLUGIN_NAME + 1);
+    when(fastPoolPlugin.allocateReader(null)).thenReturn(fastReader);
+    service
+        .getConfigurator()
+        .withPoolPlugins(
+            PoolPluginsConfigurator.builder()
+                .addPoolPlugin(slowPoolPlugin)
+                .addPoolPlugin(fastPoolPlugin)
+                .withHedgedAllocation(50)
+                .build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .configure();
+    service.start();
+
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+
+    assertThat(cardResource).isNotNull();
+    assertThat(cardResource.getReader()).isSameAs(fastReader);
+    slowAllocationGate.countDown();
+    assertThat(slowReaderReleased.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+  }
+
+  @Test
+  void getCardResource_whenWarmReserveConfigured_shouldAllocateFromReserveAndRefillIt() {
+    Deque<CardReader> availableReaders = new ConcurrentLinkedDeque<>();
+    configureWarmReserveAndStart(mockPoolPlugin(3, availableReaders), 0);
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    await(() -> statistics.getWarmReserveCount() == 1);
+
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+
+    assertThat(cardResource).isNotNull();
+    await(() -> statistics.getWarmReserveCount() == 1);
+    assertThat(availableReaders).hasSize(1);
+    service.releaseCardResource(cardResource);
+    assertThat(statistics.getWarmReserveCount()).isEqualTo(1);
+    assertThat(availableReaders).hasSize(2).contains(cardResource.getReader());
+  }
+
+  @Test
+  void releaseCardResource_whenWarmReserveFull_shouldKeepCardResourceDuringLingerTime() {
+    Deque<CardReader> availableReaders = new ConcurrentLinkedDeque<>();
+    configureWarmReserveAndStart(mockPoolPlugin(3, availableReaders), 200);
+    CardResourceProfileStatistics statistics =
+        service.getCardResourceProfileStatistics(PROFILE_NAME);
+    await(() -> statistics.getWarmReserveCount() == 1);
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    await(() -> statistics.getWarmReserveCount() == 1);
+
+    service.releaseCardResource(cardResource);
+
+    assertThat(statistics.getWarmReserveCount()).isEqualTo(2);
+    assertThat(availableReaders).hasSize(1);
+    await(() -> availableReaders.size() == 2);
+    assertThat(statistics.getWarmReserveCount()).isEqualTo(1);
+    assertThat(availableReaders).contains(cardResource.getReader());
+  }
+
+  @Test
+  void stop_whenWarmReserveFilled_shouldReleaseReadersToPoolPlugin() {
+    Deque<CardReader> availableReaders = new ConcurrentLinkedDeque<>();
+    configureWarmReserveAndStart(mockPoolPlugin(3, availableReaders), 0);
+    await(
+        () -> service.getCardResourceProfileStatistics(PROFILE_NAME).getWarmReserveCount() == 1);
+
+    service.stop();
+
+    assertThat(availableReaders).hasSize(3);
+  }
+
+  /**
+   * Configures the service with the provided plugin and a card resource profile, in non-blocking
+   * allocation mode, and starts it.
+   *
+   * @param plugin The plugin.
+   */
+  private void configureAndStart(Plugin plugin) {
+    configureAndStart(
+        PluginsConfigurator.builder().addPlugin(plugin, readerConfiguratorSpi).build());
+  }
+
+  /**
+   * Configures the service with the provided plugins and a card resource profile, in non-blocking
+   * allocation mode, and starts it.
+   *
+   * @param pluginsConfigurator The plugins configuration.
+   */
+  private void configureAndStart(PluginsConfigurator pluginsConfigurator) {
+    configureAndStart(
+        pluginsConfigurator,
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .build());
+  }
+
+  /**
+   * Configures the service with the provided plugins and card resource profile, in non-blocking
+   * allocation mode, and starts it.
+   *
+   * @param pluginsConfigurator The plugins configuration.
+   * @param cardResourceProfileConfigurator The card resource profile configuration.
+   */
+  private void configureAndStart(
+      PluginsConfigurator pluginsConfigurator,
+      CardResourceProfileConfigurator cardResourceProfileConfigurator) {
+    service
+        .getConfigurator()
+        .withPlugins(pluginsConfigurator)
+        .withCardResourceProfiles(cardResourceProfileConfigurator)
+        .configure();
+    service.start();
+  }
+
+  /**
+   * Configures the service with the provided plugin and a card resource profile having the
+   * provided usage timeout, in non-blocking allocation mode, and starts it.
+   *
+   * @param plugin The plugin.
+   * @param usageTimeoutMillis The usage timeout of the card resource profile.
+   */
+  private void configureWithUsageTimeoutAndStart(Plugin plugin, int usageTimeoutMillis) {
+    configureAndStart(
+        PluginsConfigurator.builder().addPlugin(plugin, readerConfiguratorSpi).build(),
+        CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+            .withUsageTimeout(usageTimeoutMillis)
+            .build());
+  }
+
+  /**
+   * Configures the service with the provided plugin and a card resource profile, in blocking
+   * allocation mode with a cycle duration and a timeout exceeding the duration of a test, and
+   * starts it.
+   *
+   * @param plugin The plugin.
+   */
+  private void configureBlockingAndStart(Plugin plugin) {
+    service
+        .getConfigurator()
+        .withPlugins(PluginsConfigurator.builder().addPlugin(plugin, readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withBlockingAllocationMode(60000, 60000)
+        .configure();
+    service.start();
+  }
+
+  /**
+   * Configures the service with a plugin having one reader and a card resource profile, in
+   * non-blocking allocation mode with a progressive start, and starts it.
+   */
+  private void configureProgressiveAndStart() {
+    service
+        .getConfigurator()
+        .withPlugins(
+            PluginsConfigurator.builder().addPlugin(mockPlugin(1), readerConfiguratorSpi).build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .withProgressiveStart()
+        .configure();
+    service.start();
+  }
+
+  /**
+   * Configures the service with the provided pool plugin and a card resource profile, in
+   * non-blocking allocation mode with a warm reserve of one card resource, and starts it.
+   *
+   * @param poolPlugin The pool plugin.
+   * @param lingerTimeMillis The linger time of the warm reserve.
+   */
+  private void configureWarmReserveAndStart(PoolPlugin poolPlugin, int lingerTimeMillis) {
+    service
+        .getConfigurator()
+        .withPoolPlugins(
+            PoolPluginsConfigurator.builder()
+                .addPoolPlugin(poolPlugin)
+                .withWarmReserve(1, lingerTimeMillis)
+                .build())
+        .withCardResourceProfiles(
+            CardResourceProfileConfigurator.builder(PROFILE_NAME, cardResourceProfileExtension)
+                .build())
+        .configure();
+    service.start();
+  }
+
+  /**
+   * Applies to the started service a new configuration with the provided plugin and card resource
+   * profiles, in non-blocking allocation mode.
+   *
+   * @param plugin The plugin.
+   * @param cardResourceProfileConfigurators The card resource profile configurations.
+   */
+  private void reconfigure(
+      Plugin plugin, CardResourceProfileConfigurator... cardResourceProfileConfigurators) {
+    service
+        .getConfigurator()
+        .withPlugins(PluginsConfigurator.builder().addPlugin(plugin, readerConfiguratorSpi).build())
+        .withCardResourceProfiles(cardResourceProfileConfigurators)
+        .configure();
+  }
+
+  /**
+   * Requests a card resource from another thread and waits until the request is blocked.
+   *
+   * @return The future result of the request.
+   */
+  private Future<CardResource> submitBlockedRequest() {
+    return submitBlockedRequest(() -> service.getCardResource(PROFILE_NAME));
+  }
+
+  /**
+   * Executes the provided request from another thread and waits until the request is blocked.
+   *
+   * @param request The request.
+   * @param <T> The type of the result.
+   * @return The future result of the request.
+   */
+  private <T> Future<T> submitBlockedRequest(Callable<T> request) {
+    AtomicReference<Thread> requestingThread = new AtomicReference<>();
+    Future<T> result =
+        executor.submit(
+            () -> {
+              requestingThread.set(Thread.currentThread());
+              return request.call();
+            });
+    await(
+        () ->
+            requestingThread.get() != null
+                && (requestingThread.get().getState() == Thread.State.WAITING
+                    || requestingThread.get().getState() == Thread.State.TIMED_WAITING));
+    return result;
+  }
+
+  /**
+   * Creates a plugin mock providing the provided number of reader mocks.
+   *
+   * @param readerCount The number of readers.
+   * @return A not null plugin mock.
+   */
+  private static Plugin mockPlugin(int readerCount) {
+    Plugin plugin = mock(Plugin.class);
+    Set<CardReader> readers = new LinkedHashSet<>();
+    Set<String> readerNames = new LinkedHashSet<>();
+    for (int i = 0; i < readerCount; i++) {
+      String readerName = READER_NAME_PREFIX + i;
+      CardReader reader = mock(CardReader.class);
+      when(reader.getName()).thenReturn(readerName);
+      when(reader.isCardPresent()).thenReturn(true);
+      when(plugin.getReader(readerName)).thenReturn(reader);
+      readers.add(reader);
+      readerNames.add(readerName);
+    }
+    when(plugin.getName()).thenReturn(PLUGIN_NAME);
+    when(plugin.getReaders()).thenReturn(readers);
+    when(plugin.getReaderNames()).thenReturn(readerNames);
+    return plugin;
+  }
+
+  /**
+   * Creates a pool plugin mock allocating the provided number of reader mocks, taken from and
+   * given back to the provided deque of available readers.
+   *
+   * @param readerCount The number of readers.
+   * @param availableReaders The deque of the readers available in the pool plugin.
+   * @return A not null pool plugin mock.
+   */
+  private static PoolPlugin mockPoolPlugin(int readerCount, Deque<CardReader> availableReaders) {
+    PoolPlugin poolPlugin = mock(PoolPlugin.class);
+    for (int i = 0; i < readerCount; i++) {
+      CardReader reader = mock(CardReader.class);
+      when(reader.getName()).thenReturn(READER_NAME_PREFIX + i);
+      doAnswer(
+              invocation -> {
+                availableReaders.addLast(reader);
+                return null;
+              })
+          .when(poolPlugin)
+          .releaseReader(reader);
+      availableReaders.addLast(reader);
+    }
+    when(poolPlugin.getName()).thenReturn(PLUGIN_NAME);
+    when(poolPlugin.allocateReader(null)).thenAnswer(invocation -> availableReaders.pollFirst());
+    return poolPlugin;
+  }
+
+  /**
+   * Creates a reader event mock.
+   *
+   * @param readerName The name of the reader.
+   * @param type The type of the event.
+   * @return A not null reader event mock.
+   */
+  private static CardReaderEvent mockCardReaderEvent(
+      String readerName, CardReaderEvent.Type type) {
+    CardReaderEvent readerEvent = mock(CardReaderEvent.class);
+    when(readerEvent.getReaderName()).thenReturn(readerName);
+    when(readerEvent.getType()).thenReturn(type);
+    return readerEvent;
+  }
+
+  /**
+   * Creates a mock of a {@code CARD_MATCHED} reader event of the first reader, carrying a response
+   * of the scheduled card selection.
+   *
+   * @return A not null reader event mock.
+   */
+  private static CardReaderEvent mockCardMatchedEvent() {
+    CardReaderEvent readerEvent =
+        mockCardReaderEvent(READER_NAME_PREFIX + 0, CardReaderEvent.Type.CARD_MATCHED);
+    ScheduledCardSelectionsResponse response = mock(ScheduledCardSelectionsResponse.class);
+    when(readerEvent.getScheduledCardSelectionsResponse()).thenReturn(response);
+    return readerEvent;
+  }
+
+  /**
+   * Waits until the provided condition is fulfilled.
+   *
+   * @param condition The condition.
+   */
+  private static void await(BooleanSupplier condition) {
+    long deadlineMillis = System.currentTimeMillis() + AWAIT_TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadlineMillis) {
+        fail("Condition not fulfilled within %d ms", AWAIT_TIMEOUT_MILLIS);
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail("Interrupted while waiting for the condition");
+      }
+    }
+  }
+
+  /** Card resource profile extension matching the card of any reader while a card is inserted. */
+  private static final class CardResourceProfileExtensionMock
+      implements CardResourceProfileExtension {
+
+    private final Map<CardReader, SmartCard> readerToSmartCardMap = new ConcurrentHashMap<>();
+    private final String powerOnData;
+    private final AtomicInteger matchCount = new AtomicInteger();
+    private final AtomicInteger analysisInProgressCount = new AtomicInteger();
+    private final AtomicInteger responseMatchCount = new AtomicInteger();
+    private final AtomicInteger preparationCount = new AtomicInteger();
+    private volatile boolean isCardInserted = true;
+    private volatile boolean isResponseSupported;
+    private volatile CountDownLatch analysisGate;
+
+    CardResourceProfileExtensionMock() {
+      this(null);
+    }
+
+    /**
+     * @param powerOnData The power-on data of the smart cards, identifying the application selected
+     *     by this extension.
+     */
+    CardResourceProfileExtensionMock(String powerOnData) {
+      this.powerOnData = powerOnData;
+    }
+
+    @Override
+    public SmartCard matches(CardReader reader, ReaderApiFactory readerApiFactory) {
+      matchCount.incrementAndGet();
+      analysisInProgressCount.incrementAndGet();
+      try {
+        CountDownLatch gate = analysisGate;
+        if (gate != null) {
+          try {
+            gate.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+          }
+        }
+        return isCardInserted
+            ? readerToSmartCardMap.computeIfAbsent(reader, key -> mockSmartCard())
+            : null;
+      } finally {
+        analysisInProgressCount.decrementAndGet();
+      }
+    }
+
+    private SmartCard mockSmartCard() {
+      SmartCard smartCard = mock(SmartCard.class);
+      when(smartCard.getPowerOnData()).thenReturn(powerOnData);
+      return smartCard;
+    }
+
+    @Override
+    public SmartCard matches(SmartCard smartCard) {
+      return smartCard;
+    }
+
+    @Override
+    public boolean isScheduledCardSelectionsResponseSupported() {
+      return isResponseSupported;
+    }
+
+    @Override
+    public SmartCard matches(
+        CardReader reader,
+        ScheduledCardSelectionsResponse scheduledCardSelectionsResponse,
+        ReaderApiFactory readerApiFactory) {
+      responseMatchCount.incrementAndGet();
+      return matches(reader, readerApiFactory);
+    }
+
+    @Override
+    public int prepareCardSelections(
+        CardSelectionManager cardSelectionManager, ReaderApiFactory readerApiFactory) {
+      preparationCount.incrementAndGet();
+      return 0;
+    }
+
+    void setCardInserted(boolean isCardInserted) {
+      this.isCardInserted = isCardInserted;
+    }
+
+    void setResponseSupported(boolean isResponseSupported) {
+      this.isResponseSupported = isResponseSupported;
+    }
+
+    /**
+     * @param analysisGate The latch to await before analysing a card, null if none.
+     */
+    void setAnalysisGate(CountDownLatch analysisGate) {
+      this.analysisGate = analysisGate;
+    }
+
+    int getMatchCount() {
+      return matchCount.get();
+    }
+
+    int getAnalysisInProgressCount() {
+      return analysisInProgressCount.get();
+    }
+
+    int getResponseMatchCount() {
+      return responseMatchCount.get();
+    }
+
+    int getPreparationCount() {
+      return preparationCount.get();
+    }
+  }
+}